@@ -26,12 +26,14 @@ export const API_ENDPOINTS = {
   timetable: {
     generateTimetable: '/IPTreatment/generateTimetable',
     treatments: '/IPTreatment/treatments',
+    treatmentsPage: '/IPTreatment/v2/treatments',
   },
   insurance: {
     initiateClaim: '/insurance/InitiateClaim',
     insurers: '/insurance/GetAllInsurerDetail',
     claims: '/insurance/claims',
   },
+  stats: '/stats',
   swagger: {
     docs: '/swagger-ui.html',
   },
@@ -63,4 +65,18 @@ api.interceptors.response.use(
   }
 );
 
+// POST that is safe to retry: one Idempotency-Key per submission, reused if the
+// first attempt times out, so the server replays its result instead of writing twice
+export const postIdempotent = async <T>(url: string, body: unknown) => {
+  const config = { headers: { 'Idempotency-Key': crypto.randomUUID() } };
+  try {
+    return await api.post<T>(url, body, config);
+  } catch (error: any) {
+    if (error.code !== 'ECONNABORTED') {
+      throw error;
+    }
+    return api.post<T>(url, body, config);
+  }
+};
+
 export default api;
\ No newline at end of file
@@ -23,8 +23,7 @@ import {
 } from "@mui/material";
 import React, { useEffect, useState } from "react";
 import { useNavigate } from "react-router-dom";
-import { InsuranceService } from "../services/insurance.service";
-import { TimetableService } from "../services/timetable.service";
+import { StatsService } from "../services/stats.service";
 import { TreatmentService } from "../services/treatment.service";
 
 interface DashboardStats {
@@ -50,18 +49,18 @@ const Dashboard: React.FC = () => {
     setError(null);
 
     try {
-      const [packages, specialists, treatments, claims] = await Promise.all([
+      // Treatment and claim totals come from server-side counters rather than full lists
+      const [packages, specialists, counts] = await Promise.all([
         TreatmentService.getTreatmentPackages().catch(() => []),
         TreatmentService.getSpecialists().catch(() => []),
-        TimetableService.getAllTreatmentPlans().catch(() => []),
-        InsuranceService.getAllClaims().catch(() => []),
+        StatsService.getDashboardStats().catch(() => null),
       ]);
 
       setStats({
         totalPackages: packages.length,
         totalSpecialists: specialists.length,
-        totalTreatments: treatments.length,
-        totalClaims: claims.length,
+        totalTreatments: counts?.totalPatients ?? 0,
+        totalClaims: counts?.totalClaims ?? 0,
       });
     } catch (err: any) {
       setError("Failed to load dashboard data");
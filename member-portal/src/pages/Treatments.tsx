@@ -46,6 +46,8 @@ const Treatments: React.FC = () => {
   const [treatments, setTreatments] = useState<TreatmentPlan[]>([]);
   const [packages, setPackages] = useState<TreatmentPackage[]>([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [submitting, setSubmitting] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const [dialogOpen, setDialogOpen] = useState(false);
@@ -75,11 +77,12 @@ const Treatments: React.FC = () => {
     setError(null);
 
     try {
-      const [treatmentsData, packagesData] = await Promise.all([
-        TimetableService.getAllTreatmentPlans(),
+      const [treatmentsPage, packagesData] = await Promise.all([
+        TimetableService.getTreatmentPlansPage(),
         TreatmentService.getTreatmentPackages(),
       ]);
-      setTreatments(treatmentsData);
+      setTreatments(treatmentsPage.items);
+      setNextCursor(treatmentsPage.nextCursor);
       setPackages(packagesData);
     } catch (err: any) {
       setError("Failed to load treatment data");
@@ -88,6 +91,21 @@ const Treatments: React.FC = () => {
     }
   };
 
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    setLoadingMore(true);
+
+    try {
+      const page = await TimetableService.getTreatmentPlansPage(nextCursor);
+      setTreatments((current) => [...current, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (err: any) {
+      setError("Failed to load more treatment plans");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   useEffect(() => {
     loadData();
   }, []);
@@ -449,6 +467,19 @@ const Treatments: React.FC = () => {
         ))}
       </Box>
 
+      {nextCursor && (
+        <Box sx={{ display: "flex", justifyContent: "center", mt: 3 }}>
+          <Button
+            variant="outlined"
+            onClick={loadMore}
+            disabled={loadingMore}
+            startIcon={loadingMore ? <CircularProgress size={16} /> : undefined}
+          >
+            Load more
+          </Button>
+        </Box>
+      )}
+
       {treatments.length === 0 && !loading && (
         <Box sx={{ textAlign: "center", py: 8 }}>
           <Schedule sx={{ fontSize: 80, color: "text.disabled", mb: 2 }} />
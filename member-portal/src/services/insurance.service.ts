@@ -1,9 +1,9 @@
-import { api, API_ENDPOINTS } from '../config/api';
+import { api, API_ENDPOINTS, postIdempotent } from '../config/api';
 import { ClaimInitiationRequest, ClaimRequest, Insurer } from '../types';
 
 export class InsuranceService {
   static async initiateClaim(request: ClaimInitiationRequest): Promise<ClaimRequest> {
-    const response = await api.post<ClaimRequest>(
+    const response = await postIdempotent<ClaimRequest>(
       API_ENDPOINTS.insurance.initiateClaim,
       request
     );
@@ -0,0 +1,9 @@
+import { api, API_ENDPOINTS } from '../config/api';
+import { DashboardStats } from '../types';
+
+export class StatsService {
+  static async getDashboardStats(): Promise<DashboardStats> {
+    const response = await api.get<DashboardStats>(API_ENDPOINTS.stats);
+    return response.data;
+  }
+}
@@ -1,5 +1,5 @@
-import { api, API_ENDPOINTS } from '../config/api';
-import { PatientDetail, TreatmentPlan } from '../types';
+import { api, API_ENDPOINTS, postIdempotent } from '../config/api';
+import { PatientDetail, TreatmentPlan, TreatmentPlanPage } from '../types';
 import { TreatmentService } from './treatment.service';
 
 export class TimetableService {
@@ -24,16 +24,17 @@ export class TimetableService {
       address: '' // Optional field
     };
 
-    const response = await api.post<TreatmentPlan>(
+    const response = await postIdempotent<TreatmentPlan>(
       API_ENDPOINTS.timetable.generateTimetable,
       backendRequest
     );
     return response.data;
   }
 
-  static async getAllTreatmentPlans(): Promise<TreatmentPlan[]> {
-    const response = await api.get<TreatmentPlan[]>(
-      API_ENDPOINTS.timetable.treatments
+  static async getTreatmentPlansPage(cursor?: string | null, limit = 50): Promise<TreatmentPlanPage> {
+    const response = await api.get<TreatmentPlanPage>(
+      API_ENDPOINTS.timetable.treatmentsPage,
+      { params: { limit, cursor: cursor ?? undefined } }
     );
     return response.data;
   }
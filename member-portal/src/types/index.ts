@@ -49,6 +49,12 @@ export interface TreatmentPlan {
   durationWeeks?: number;
 }
 
+export interface TreatmentPlanPage {
+  items: TreatmentPlan[];
+  nextCursor: string | null; // null on the last page
+  limit: number;
+}
+
 export interface Insurer {
   id: number;
   insurerName: string;
@@ -78,6 +84,15 @@ export interface ClaimInitiationRequest {
   patientId?: number;
 }
 
+export interface DashboardStats {
+  totalPatients: number;
+  totalClaims: number;
+  patientsByTreatmentStatus: Record<string, number>;
+  patientsByPackage: Record<string, number>;
+  claimsByStatus: Record<string, number>;
+  claimsByInsurer: Record<string, number>;
+}
+
 export interface ApiResponse<T> {
   data: T;
   message: string;
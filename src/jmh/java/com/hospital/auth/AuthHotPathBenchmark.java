@@ -0,0 +1,189 @@
+package com.hospital.auth;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.hospital.auth.security.JwtAuthenticationFilter;
+import com.hospital.auth.security.RemoteJwksCache;
+import com.hospital.auth.security.TokenRevocationRegistry;
+import com.hospital.auth.security.VerifiedTokenCache;
+import com.hospital.auth.service.AuthService;
+import com.hospital.auth.util.JwtUtil;
+import com.hospital.auth.util.SigningKeyRing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+
+/**
+ * Throughput of the authentication hot path, wired without a Spring context.
+ * The "contended" variants share one set of components across 8 threads. The
+ * filter benchmarks rotate through {@link Tokens#distinctTokens} tokens: with
+ * one, every request hits the VerifiedTokenCache; with more tokens than the
+ * cache holds, nearly every request misses and pays for signature
+ * verification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthHotPathBenchmark {
+
+    private static final long EXPIRATION_MILLIS = 86_400_000L;
+    private static final long TOKEN_CACHE_SIZE = 10_000L;
+
+    private JwtUtil jwtUtil;
+    private AuthService authService;
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    @Setup
+    public void setup() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        SigningKeyRing keyRing = new SigningKeyRing();
+        ReflectionTestUtils.setField(keyRing, "expiration", EXPIRATION_MILLIS);
+        ReflectionTestUtils.setField(keyRing, "activeKey", "");
+        ReflectionTestUtils.setField(keyRing, "previousKey", "");
+        ReflectionTestUtils.setField(keyRing, "generateOnBoot", true);
+        ReflectionTestUtils.setField(keyRing, "jwksUri", "");
+        ReflectionTestUtils.invokeMethod(keyRing, "init");
+
+        RemoteJwksCache remoteJwks = new RemoteJwksCache();
+        ReflectionTestUtils.setField(remoteJwks, "jwksUri", "");
+
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION_MILLIS);
+        ReflectionTestUtils.setField(jwtUtil, "keyRing", keyRing);
+        ReflectionTestUtils.setField(jwtUtil, "remoteJwks", remoteJwks);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+
+        TokenRevocationRegistry revocationRegistry = new TokenRevocationRegistry();
+        ReflectionTestUtils.setField(revocationRegistry, "expectedInsertions", 100_000);
+        ReflectionTestUtils.setField(revocationRegistry, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.invokeMethod(revocationRegistry, "init");
+
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(tokenCache, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(tokenCache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(tokenCache, "maxSize", TOKEN_CACHE_SIZE);
+        ReflectionTestUtils.invokeMethod(tokenCache, "init");
+
+        authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(authService, "keyRing", keyRing);
+        ReflectionTestUtils.setField(authService, "revocationRegistry", revocationRegistry);
+        ReflectionTestUtils.setField(authService, "tokenCache", tokenCache);
+
+        filter = new JwtAuthenticationFilter(tokenCache, revocationRegistry, meterRegistry);
+
+        token = jwtUtil.generateToken("benchmark-user");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("benchmark-user");
+    }
+
+    @Benchmark
+    public boolean jwtUtilValidateToken() {
+        return jwtUtil.validateToken(token, "benchmark-user");
+    }
+
+    @Benchmark
+    public boolean authServiceValidateToken() {
+        return authService.validateToken(token);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterAuthenticatedRequest(Tokens tokens, Cursor cursor)
+            throws ServletException, IOException {
+        return runFilter(cursor.next(tokens));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterAnonymousRequest() throws ServletException, IOException {
+        return runFilter(null);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean jwtUtilValidateTokenContended() {
+        return jwtUtil.validateToken(token, "benchmark-user");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public MockHttpServletResponse filterAuthenticatedRequestContended(Tokens tokens, Cursor cursor)
+            throws ServletException, IOException {
+        return runFilter(cursor.next(tokens));
+    }
+
+    private MockHttpServletResponse runFilter(String bearer) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/IPTreatment/treatments");
+        if (bearer != null) {
+            request.addHeader("Authorization", "Bearer " + bearer);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Tokens {
+        // 1 = cache hit path; 100000 = ten times the cache size, so almost every lookup misses
+        @Param({ "1", "100000" })
+        public int distinctTokens;
+
+        String[] values;
+
+        @Setup
+        public void setup(AuthHotPathBenchmark benchmark) {
+            values = new String[distinctTokens];
+            for (int i = 0; i < distinctTokens; i++) {
+                values[i] = benchmark.jwtUtil.generateToken("benchmark-user-" + i);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int position;
+
+        // Threads start apart so contended runs do not warm the cache for each other
+        @Setup
+        public void setup(Tokens tokens) {
+            position = ThreadLocalRandom.current().nextInt(tokens.values.length);
+        }
+
+        String next(Tokens tokens) {
+            String token = tokens.values[position];
+            position = position + 1 == tokens.values.length ? 0 : position + 1;
+            return token;
+        }
+    }
+}
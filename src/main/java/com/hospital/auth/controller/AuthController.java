@@ -1,6 +1,10 @@
 package com.hospital.auth.controller;
 
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -45,4 +49,23 @@ public class AuthController {
         boolean isValid = authService.validateToken(token);
         return ResponseEntity.ok(isValid);
     }
+
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(summary = "JSON Web Key Set", description = "Public keys for verifying issued tokens, identified by the kid header")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok().cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES))
+                .body(Map.of("keys", authService.getJwks()));
+    }
+
+    @PostMapping("/revoke")
+    @Operation(summary = "Revoke JWT Token", description = "Revoke a valid JWT token so it is rejected before its expiry")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Token revoked successfully"),
+            @ApiResponse(responseCode = "400", description = "Token is invalid, expired or cannot be revoked") })
+    public ResponseEntity<Map<String, String>> revokeToken(@RequestParam String token) {
+        if (!authService.revokeToken(token)) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", "Token is invalid, expired or cannot be revoked", "status", "error"));
+        }
+        return ResponseEntity.ok(Map.of("message", "Token revoked successfully", "status", "success"));
+    }
 }
\ No newline at end of file
@@ -3,7 +3,6 @@ package com.hospital.auth.security;
 import java.io.IOException;
 import java.util.ArrayList;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -11,8 +10,11 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.hospital.auth.util.JwtUtil;
+import com.hospital.auth.util.VerifiedToken;
+import com.hospital.config.PublicRoutes;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,8 +23,37 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    @Autowired
-    private JwtUtil jwtUtil;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationRegistry revocationRegistry;
+
+    private final Counter skippedPublic;
+    private final Counter noToken;
+    private final Counter authenticated;
+    private final Counter rejected;
+
+    public JwtAuthenticationFilter(VerifiedTokenCache tokenCache, TokenRevocationRegistry revocationRegistry,
+            MeterRegistry meterRegistry) {
+        this.tokenCache = tokenCache;
+        this.revocationRegistry = revocationRegistry;
+        this.skippedPublic = outcomeCounter(meterRegistry, "skipped_public");
+        this.noToken = outcomeCounter(meterRegistry, "no_token");
+        this.authenticated = outcomeCounter(meterRegistry, "authenticated");
+        this.rejected = outcomeCounter(meterRegistry, "rejected");
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("jwt.filter.requests").tag("outcome", outcome).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        // Public routes never read the principal, so skip header parsing entirely
+        if (PublicRoutes.matches(request.getRequestURI().substring(request.getContextPath().length()))) {
+            skippedPublic.increment();
+            return true;
+        }
+        return false;
+    }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
@@ -30,25 +61,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String requestTokenHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwtToken = null;
+        VerifiedToken verified = null;
 
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
+            String jwtToken = requestTokenHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwtToken);
+                // Cached per token digest; a miss does one parse + signature check
+                verified = tokenCache.verify(jwtToken);
+                if (revocationRegistry.isRevoked(verified)) {
+                    verified = null;
+                }
             } catch (Exception e) {
                 logger.error("Unable to get JWT Token");
             }
+            (verified != null ? authenticated : rejected).increment();
+        } else {
+            noToken.increment();
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(jwtToken, username)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(username, null,
-                        new ArrayList<>());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+        if (verified != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    verified.getSubject(), null, new ArrayList<>());
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
         chain.doFilter(request, response);
     }
@@ -0,0 +1,167 @@
+package com.hospital.auth.security;
+
+import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import com.hospital.auth.util.Jwks;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Public keys fetched from a remote JWKS endpoint, for read-only nodes that
+ * verify tokens without holding any signing key. Disabled unless
+ * {@code jwt.jwks-uri} is set. The key map is replaced wholesale on refresh, so
+ * lookups are a single volatile read and a hash lookup. Fetches run one at a
+ * time on a background thread with connect and read timeouts; a request that
+ * meets an unknown kid joins the fetch in flight and waits for it only briefly.
+ */
+@Component
+public class RemoteJwksCache {
+
+    private static final Log logger = LogFactory.getLog(RemoteJwksCache.class);
+
+    @Value("${jwt.jwks-uri:}")
+    private String jwksUri;
+
+    // Lower bound between on-demand refreshes triggered by an unknown kid
+    @Value("${jwt.jwks-min-refresh-interval-ms:30000}")
+    private long minRefreshIntervalMillis;
+
+    @Value("${jwt.jwks-connect-timeout-ms:2000}")
+    private long connectTimeoutMillis;
+
+    @Value("${jwt.jwks-read-timeout-ms:3000}")
+    private long readTimeoutMillis;
+
+    // How long a request thread waits for an on-demand refresh before giving up on the kid
+    @Value("${jwt.jwks-on-demand-wait-ms:500}")
+    private long onDemandWaitMillis;
+
+    private RestClient restClient;
+
+    private ExecutorService fetcher;
+
+    private final AtomicReference<CompletableFuture<Void>> inFlight = new AtomicReference<>();
+
+    private volatile Map<String, ECPublicKey> keys = Map.of();
+
+    private volatile long lastRefreshMillis;
+
+    @PostConstruct
+    void init() {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofMillis(connectTimeoutMillis));
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMillis));
+        restClient = RestClient.builder().requestFactory(requestFactory).build();
+        fetcher = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fetcher.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return !jwksUri.isBlank();
+    }
+
+    public ECPublicKey publicKey(String kid) {
+        if (kid == null || !isEnabled()) {
+            return null;
+        }
+        ECPublicKey key = keys.get(kid);
+        if (key == null && System.currentTimeMillis() - lastRefreshMillis >= minRefreshIntervalMillis) {
+            // A kid we have not seen yet usually means the issuer just rotated
+            try {
+                refreshAsync().get(onDemandWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                // Still fetching or failed; the kid stays unknown for this request
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            key = keys.get(kid);
+        }
+        return key;
+    }
+
+    // Only starts the fetch, so a slow issuer never holds a scheduler thread
+    @Scheduled(initialDelay = 0, fixedDelayString = "${jwt.jwks-refresh-interval-ms:300000}")
+    public void refresh() {
+        if (isEnabled()) {
+            refreshAsync();
+        }
+    }
+
+    // Starts a fetch unless one is already running, and returns the one in flight
+    private CompletableFuture<Void> refreshAsync() {
+        while (true) {
+            CompletableFuture<Void> running = inFlight.get();
+            if (running != null) {
+                return running;
+            }
+            CompletableFuture<Void> mine = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, mine)) {
+                lastRefreshMillis = System.currentTimeMillis();
+                try {
+                    fetcher.execute(() -> {
+                        try {
+                            fetch();
+                        } finally {
+                            inFlight.set(null);
+                            mine.complete(null);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    inFlight.set(null);
+                    mine.complete(null);
+                }
+                return mine;
+            }
+        }
+    }
+
+    private void fetch() {
+        try {
+            Map<String, List<Map<String, Object>>> body = restClient.get().uri(jwksUri).retrieve()
+                    .body(new ParameterizedTypeReference<Map<String, List<Map<String, Object>>>>() {
+                    });
+            if (body == null || body.get("keys") == null) {
+                return;
+            }
+            Map<String, ECPublicKey> refreshed = new HashMap<>();
+            for (Map<String, Object> jwk : body.get("keys")) {
+                refreshed.put((String) jwk.get("kid"), Jwks.fromJwk(jwk));
+            }
+            keys = Map.copyOf(refreshed);
+        } catch (Exception e) {
+            // Keep serving the last known keys if the issuer is briefly unreachable
+            logger.warn("Unable to refresh JWKS from " + jwksUri + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.hospital.auth.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.hospital.auth.util.VerifiedToken;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory registry of revoked token IDs (jti). The per-request check asks a
+ * Bloom filter first and only consults the exact set on a possible match, so
+ * the common "not revoked" case never touches the map. Entries are pruned once
+ * the revoked token would have expired anyway.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    @Value("${jwt.revocation.expected-insertions:100000}")
+    private int expectedInsertions;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // jti -> token expiry in epoch millis
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+
+    @PostConstruct
+    void init() {
+        filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    public synchronized void revoke(String tokenId, long expiresAtMillis) {
+        revoked.put(tokenId, expiresAtMillis);
+        filter.add(tokenId);
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        String tokenId = token.getTokenId();
+        return tokenId != null && filter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * Drops revocations for tokens that have expired and rebuilds the Bloom
+     * filter from the remaining IDs, since Bloom filters cannot delete.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms:60000}")
+    public synchronized void pruneExpired() {
+        long now = System.currentTimeMillis();
+        if (!revoked.values().removeIf(expiresAt -> expiresAt <= now)) {
+            return;
+        }
+        BloomFilter rebuilt = new BloomFilter(expectedInsertions, falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+    }
+}
@@ -0,0 +1,120 @@
+package com.hospital.auth.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.hospital.auth.util.JwtUtil;
+import com.hospital.auth.util.VerifiedToken;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Bounded cache of verified tokens keyed by a SHA-256 digest of the raw token,
+ * so repeat requests with the same bearer token skip signature verification.
+ * Entries never outlive the token's own exp claim.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<TokenDigest, VerifiedToken> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder().maximumSize(maxSize).expireAfter(new TokenExpiry()).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+    }
+
+    /**
+     * Returns the verified principal for the token, verifying and caching it on
+     * a miss. Throws the same exceptions as {@link JwtUtil#verify(String)}.
+     */
+    public VerifiedToken verify(String token) {
+        TokenDigest key = digest(token);
+        VerifiedToken verified = cache.get(key, k -> jwtUtil.verify(token));
+        // Cache expiry is approximate, so enforce the exact exp on every hit
+        if (verified.isExpired(System.currentTimeMillis())) {
+            cache.invalidate(key);
+            throw new ExpiredJwtException(null, verified.getClaims(), "JWT expired");
+        }
+        return verified;
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    private static TokenDigest digest(String token) {
+        MessageDigest md = SHA256.get();
+        md.reset();
+        return new TokenDigest(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static final class TokenDigest {
+        private final byte[] bytes;
+        private final int hash;
+
+        TokenDigest(byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TokenDigest other && Arrays.equals(bytes, other.bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<TokenDigest, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.getExpiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime,
+                long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.hospital.auth.service;
 
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.hospital.auth.dto.TokenRequest;
 import com.hospital.auth.dto.TokenResponse;
+import com.hospital.auth.security.TokenRevocationRegistry;
+import com.hospital.auth.security.VerifiedTokenCache;
 import com.hospital.auth.util.JwtUtil;
+import com.hospital.auth.util.SigningKeyRing;
+import com.hospital.auth.util.VerifiedToken;
 
 @Service
 public class AuthService {
@@ -13,6 +20,15 @@ public class AuthService {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private SigningKeyRing keyRing;
+
+    @Autowired
+    private TokenRevocationRegistry revocationRegistry;
+
+    @Autowired
+    private VerifiedTokenCache tokenCache;
+
     public TokenResponse generateToken(TokenRequest request) {
         String username = request.getUsername() != null ? request.getUsername() : "anonymous";
         String token = jwtUtil.generateToken(username);
@@ -23,10 +39,28 @@ public class AuthService {
 
     public boolean validateToken(String token) {
         try {
-            String username = jwtUtil.extractUsername(token);
-            return jwtUtil.validateToken(token, username);
+            return !revocationRegistry.isRevoked(jwtUtil.verify(token));
         } catch (Exception e) {
             return false;
         }
     }
+
+    public List<Map<String, Object>> getJwks() {
+        return keyRing.jwks();
+    }
+
+    public boolean revokeToken(String token) {
+        VerifiedToken verified;
+        try {
+            verified = jwtUtil.verify(token);
+        } catch (Exception e) {
+            return false;
+        }
+        if (verified.getTokenId() == null) {
+            return false;
+        }
+        revocationRegistry.revoke(verified.getTokenId(), verified.getExpiresAtMillis());
+        tokenCache.invalidate(token);
+        return true;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.hospital.auth.util;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Conversion between P-256 public keys and their JWK (RFC 7517/7518) form.
+ */
+public final class Jwks {
+    private static final int COORDINATE_BYTES = 32;
+    private static final ECParameterSpec P256 = p256();
+
+    private Jwks() {
+    }
+
+    public static Map<String, Object> toJwk(String kid, ECPublicKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", "ES256");
+        jwk.put("x", encode(key.getW().getAffineX()));
+        jwk.put("y", encode(key.getW().getAffineY()));
+        return jwk;
+    }
+
+    public static ECPublicKey fromJwk(Map<String, ?> jwk) {
+        if (!"EC".equals(jwk.get("kty")) || !"P-256".equals(jwk.get("crv"))) {
+            throw new IllegalArgumentException("Unsupported JWK: " + jwk.get("kid"));
+        }
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        BigInteger x = new BigInteger(1, decoder.decode((String) jwk.get("x")));
+        BigInteger y = new BigInteger(1, decoder.decode((String) jwk.get("y")));
+        try {
+            return (ECPublicKey) KeyFactory.getInstance("EC")
+                    .generatePublic(new ECPublicKeySpec(new ECPoint(x, y), P256));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid JWK: " + jwk.get("kid"), e);
+        }
+    }
+
+    /**
+     * RFC 7638 thumbprint of the key, used as its kid so that every node
+     * holding the same key names it the same way.
+     */
+    public static String thumbprint(ECPublicKey key) {
+        String canonical = "{\"crv\":\"P-256\",\"kty\":\"EC\",\"x\":\"" + encode(key.getW().getAffineX())
+                + "\",\"y\":\"" + encode(key.getW().getAffineY()) + "\"}";
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static ECParameterSpec p256Parameters() {
+        return P256;
+    }
+
+    private static String encode(BigInteger coordinate) {
+        byte[] raw = coordinate.toByteArray();
+        byte[] fixed = new byte[COORDINATE_BYTES];
+        // Strip the sign byte or left-pad so every coordinate is exactly 32 bytes
+        int copy = Math.min(raw.length, COORDINATE_BYTES);
+        System.arraycopy(raw, raw.length - copy, fixed, COORDINATE_BYTES - copy, copy);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private static ECParameterSpec p256() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("P-256 curve is not available", e);
+        }
+    }
+}
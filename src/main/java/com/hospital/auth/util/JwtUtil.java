@@ -4,27 +4,74 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.hospital.auth.security.RemoteJwksCache;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import jakarta.annotation.PostConstruct;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Autowired
+    private SigningKeyRing keyRing;
+
+    @Autowired
+    private RemoteJwksCache remoteJwks;
+
+    // The parser is immutable and thread-safe, so it is built once and shared
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        parser = Jwts.parserBuilder().setSigningKeyResolver(new SigningKeyResolverAdapter() {
+            @Override
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                if (!SignatureAlgorithm.ES256.getValue().equals(header.getAlgorithm())) {
+                    throw new JwtException("Unsupported JWT algorithm: " + header.getAlgorithm());
+                }
+                return resolvePublicKey(header.getKeyId());
+            }
+        }).build();
+    }
+
+    private Key resolvePublicKey(String kid) {
+        Key key = keyRing.publicKey(kid);
+        if (key == null) {
+            key = remoteJwks.publicKey(kid);
+        }
+        if (key == null) {
+            throw new JwtException("Unknown signing key id: " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * Parses and verifies the token once. Throws {@link JwtException} if the
+     * signature is invalid, the token is malformed, or it has expired.
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        Date exp = claims.getExpiration();
+        if (claims.getSubject() == null || exp == null) {
+            throw new JwtException("Token is missing subject or expiration");
+        }
+        return new VerifiedToken(claims.getSubject(), exp.getTime(), claims);
     }
 
     public String extractUsername(String token) {
@@ -41,11 +88,7 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String generateToken(String username) {
@@ -54,17 +97,24 @@ public class JwtUtil {
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
-        return Jwts.builder().setClaims(claims).setSubject(subject).setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512).compact();
+        SigningKeyRing.SigningKey signingKey = keyRing.current();
+        long now = System.currentTimeMillis();
+        return Jwts.builder().setHeaderParam(JwsHeader.KEY_ID, signingKey.getKid()).setClaims(claims)
+                .setId(UUID.randomUUID().toString()).setSubject(subject).setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
+                .signWith(signingKey.getPrivateKey(), SignatureAlgorithm.ES256).compact();
     }
 
     public Boolean validateToken(String token, String username) {
-        final String tokenUsername = extractUsername(token);
-        return (tokenUsername.equals(username) && !isTokenExpired(token));
+        try {
+            VerifiedToken verified = verify(token);
+            return verified.getSubject().equals(username) && !verified.isExpired(System.currentTimeMillis());
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
     }
 
     public Long getExpirationTime() {
         return expiration;
     }
-}
\ No newline at end of file
+}
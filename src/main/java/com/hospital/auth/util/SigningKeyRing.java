@@ -0,0 +1,202 @@
+package com.hospital.auth.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.SecureRandom;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Ring of ES256 (P-256) signing keys. New tokens are signed with the current
+ * key; older keys stay available for verification (and in the JWKS).
+ * <p>
+ * Keys normally come from configuration: {@code jwt.signing.active-key} signs
+ * and {@code jwt.signing.previous-key} only verifies, each a PEM bundle with a
+ * PKCS#8 {@code PRIVATE KEY} and its {@code PUBLIC KEY}. Every instance given
+ * the same material signs with the same key id, and tokens survive restarts;
+ * rotating means promoting the active key to previous and redeploying. With
+ * {@code jwt.signing.generate-on-boot} (development only) keys are generated in
+ * memory and rotated on a schedule instead, keeping retired keys until every
+ * token they signed has expired. A node with {@code jwt.jwks-uri} and no key
+ * only verifies.
+ */
+@Component
+public class SigningKeyRing {
+
+    private static final Pattern PEM_BLOCK = Pattern.compile("-----BEGIN ([A-Z ]+)-----([^-]*)-----END \\1-----");
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${jwt.expiration}")
+    private Long expiration;
+
+    @Value("${jwt.signing.active-key:}")
+    private String activeKey;
+
+    @Value("${jwt.signing.previous-key:}")
+    private String previousKey;
+
+    @Value("${jwt.signing.generate-on-boot:false}")
+    private boolean generateOnBoot;
+
+    @Value("${jwt.jwks-uri:}")
+    private String jwksUri;
+
+    private final Map<String, SigningKey> keys = new ConcurrentHashMap<>();
+
+    private volatile SigningKey current;
+
+    @PostConstruct
+    void init() {
+        if (!activeKey.isBlank()) {
+            current = load(activeKey, "jwt.signing.active-key");
+            keys.put(current.kid, current);
+            if (!previousKey.isBlank()) {
+                SigningKey previous = load(previousKey, "jwt.signing.previous-key");
+                keys.putIfAbsent(previous.kid, previous);
+            }
+        } else if (generateOnBoot) {
+            rotate();
+        } else if (jwksUri.isBlank()) {
+            throw new IllegalStateException("No JWT signing key: set jwt.signing.active-key (JWT_SIGNING_KEY), "
+                    + "or jwt.jwks-uri on nodes that only verify tokens");
+        }
+    }
+
+    /**
+     * Replaces the current key with a freshly generated one. Only generated
+     * rings rotate; configured keys are rotated by redeploying.
+     */
+    @Scheduled(fixedDelayString = "${jwt.signing.rotation-interval-ms:86400000}", initialDelayString = "${jwt.signing.rotation-interval-ms:86400000}")
+    public synchronized void rotate() {
+        if (!generateOnBoot || !activeKey.isBlank()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        SigningKey previous = current;
+        if (previous != null) {
+            previous.retireAtMillis = now + expiration;
+        }
+        SigningKey next = generate();
+        keys.put(next.kid, next);
+        current = next;
+        keys.values().removeIf(key -> key.retireAtMillis <= now);
+    }
+
+    public SigningKey current() {
+        SigningKey key = current;
+        if (key == null) {
+            throw new IllegalStateException("This node has no signing key and can only verify tokens");
+        }
+        return key;
+    }
+
+    public ECPublicKey publicKey(String kid) {
+        SigningKey key = kid != null ? keys.get(kid) : null;
+        return key != null ? key.publicKey : null;
+    }
+
+    public List<Map<String, Object>> jwks() {
+        return keys.values().stream().map(key -> Jwks.toJwk(key.kid, key.publicKey)).collect(Collectors.toList());
+    }
+
+    private SigningKey generate() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(Jwks.p256Parameters(), random);
+            KeyPair pair = generator.generateKeyPair();
+            ECPublicKey publicKey = (ECPublicKey) pair.getPublic();
+            return new SigningKey(Jwks.thumbprint(publicKey), pair.getPrivate(), publicKey);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to generate ES256 signing key", e);
+        }
+    }
+
+    /**
+     * Reads a PEM bundle holding a PKCS#8 P-256 private key and its public
+     * key. Escaped newlines are accepted, so the bundle fits in one env var.
+     */
+    static SigningKey load(String pem, String property) {
+        byte[] privateDer = null;
+        byte[] publicDer = null;
+        Matcher block = PEM_BLOCK.matcher(pem.replace("\\n", "\n"));
+        while (block.find()) {
+            byte[] der = Base64.getMimeDecoder().decode(block.group(2).getBytes(StandardCharsets.US_ASCII));
+            if ("PRIVATE KEY".equals(block.group(1))) {
+                privateDer = der;
+            } else if ("PUBLIC KEY".equals(block.group(1))) {
+                publicDer = der;
+            }
+        }
+        if (privateDer == null || publicDer == null) {
+            throw new IllegalStateException(property + " must hold a PKCS#8 PRIVATE KEY and a PUBLIC KEY PEM block");
+        }
+        try {
+            KeyFactory factory = KeyFactory.getInstance("EC");
+            PrivateKey privateKey = factory.generatePrivate(new PKCS8EncodedKeySpec(privateDer));
+            ECPublicKey publicKey = (ECPublicKey) factory.generatePublic(new X509EncodedKeySpec(publicDer));
+            if (!publicKey.getParams().getCurve().equals(Jwks.p256Parameters().getCurve())) {
+                throw new IllegalStateException(property + " is not a P-256 key");
+            }
+            // Make sure the two halves belong together before signing anything
+            byte[] probe = property.getBytes(StandardCharsets.US_ASCII);
+            Signature signer = Signature.getInstance("SHA256withECDSA");
+            signer.initSign(privateKey);
+            signer.update(probe);
+            byte[] signature = signer.sign();
+            Signature verifier = Signature.getInstance("SHA256withECDSA");
+            verifier.initVerify(publicKey);
+            verifier.update(probe);
+            if (!verifier.verify(signature)) {
+                throw new IllegalStateException(property + " private and public keys do not match");
+            }
+            return new SigningKey(Jwks.thumbprint(publicKey), privateKey, publicKey);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Unable to read " + property, e);
+        }
+    }
+
+    public static final class SigningKey {
+        private final String kid;
+        private final PrivateKey privateKey;
+        private final ECPublicKey publicKey;
+        private volatile long retireAtMillis = Long.MAX_VALUE;
+
+        SigningKey(String kid, PrivateKey privateKey, ECPublicKey publicKey) {
+            this.kid = kid;
+            this.privateKey = privateKey;
+            this.publicKey = publicKey;
+        }
+
+        public String getKid() {
+            return kid;
+        }
+
+        public PrivateKey getPrivateKey() {
+            return privateKey;
+        }
+
+        public ECPublicKey getPublicKey() {
+            return publicKey;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.hospital.auth.util;
+
+import java.util.Date;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Immutable result of a single successful parse and signature check of a JWT.
+ */
+public final class VerifiedToken {
+    private final String subject;
+    private final long expiresAtMillis;
+    private final Claims claims;
+
+    public VerifiedToken(String subject, long expiresAtMillis, Claims claims) {
+        this.subject = subject;
+        this.expiresAtMillis = expiresAtMillis;
+        this.claims = claims;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    public Date getExpiration() {
+        return new Date(expiresAtMillis);
+    }
+
+    public String getTokenId() {
+        return claims.getId();
+    }
+
+    public Claims getClaims() {
+        return claims;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -0,0 +1,187 @@
+package com.hospital.caching;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Reference payloads serialized once and served as bytes. Each payload is
+ * registered with a version source; it is re-serialized (plain UTF-8 JSON and
+ * gzip, plus a content-derived ETag) only when that version moves, so a
+ * request costs a version read and a byte copy into the response buffer. The
+ * gzip representation carries its own ETag ("...-gz") so caches never confuse
+ * the two encodings.
+ */
+@Component
+public class ReferencePayloads {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, Source> sources = new ConcurrentHashMap<>();
+
+    public void register(String name, LongSupplier version, Supplier<Object> body) {
+        sources.put(name, new Source(version, body));
+    }
+
+    public void write(String name, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Source source = sources.get(name);
+        if (source == null) {
+            throw new IllegalArgumentException("No reference payload registered as " + name);
+        }
+        Payload payload = source.current(objectMapper);
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? payload.gzipEtag : payload.etag;
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        byte[] body = payload.json;
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = payload.gzip;
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    // If-None-Match is "*" or a comma-separated list of tags, compared weakly (W/ ignored)
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // gzip is acceptable if listed, or covered by "*", with a non-zero q-value
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=") || param.startsWith("Q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = q;
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        double effective = gzip != null ? gzip : any != null ? any : 0;
+        return effective > 0;
+    }
+
+    private static final class Source {
+        final LongSupplier version;
+        final Supplier<Object> body;
+        volatile Payload payload;
+
+        Source(LongSupplier version, Supplier<Object> body) {
+            this.version = version;
+            this.body = body;
+        }
+
+        Payload current(ObjectMapper objectMapper) {
+            long currentVersion = version.getAsLong();
+            Payload cached = payload;
+            if (cached != null && cached.version == currentVersion) {
+                return cached;
+            }
+            synchronized (this) {
+                if (payload == null || payload.version != currentVersion) {
+                    payload = Payload.of(currentVersion, serialize(objectMapper, body.get()));
+                }
+                return payload;
+            }
+        }
+
+        private static byte[] serialize(ObjectMapper objectMapper, Object value) {
+            try {
+                return objectMapper.writeValueAsBytes(value);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize reference payload", e);
+            }
+        }
+    }
+
+    private static final class Payload {
+        final long version;
+        final byte[] json;
+        final byte[] gzip;
+        final String etag;
+        final String gzipEtag;
+
+        private Payload(long version, byte[] json, byte[] gzip, String tag) {
+            this.version = version;
+            this.json = json;
+            this.gzip = gzip;
+            this.etag = "\"" + tag + "\"";
+            this.gzipEtag = "\"" + tag + "-gz\"";
+        }
+
+        static Payload of(long version, byte[] json) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 2 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+                return new Payload(version, json, compressed.toByteArray(), HexFormat.of().formatHex(digest, 0, 16));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.hospital.caching;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.stereotype.Component;
+
+import com.hospital.config.TransactionCallbacks;
+
+/**
+ * In-memory version counters behind the strong ETags of rarely changing
+ * resources, so a conditional GET is answered 304 from a counter read without
+ * touching the database. Writers bump a counter once their change commits.
+ * Per-entity versions live in a fixed array of stripes: entities sharing a
+ * stripe invalidate each other's tags, which costs a re-fetch but never a
+ * stale 304. Entity tags also carry the resource-wide counter, so bumping the
+ * resource invalidates every entity at once when something they all embed
+ * changes. Tags carry a per-boot epoch because the counters restart at zero.
+ */
+@Component
+public class ResourceVersions {
+
+    public static final String PACKAGES = "packages";
+    public static final String SPECIALISTS = "specialists";
+    public static final String INSURERS = "insurers";
+    public static final String CLAIMS = "claims";
+    public static final String TREATMENT_PLAN = "treatment-plan";
+
+    private static final int STRIPES = 1 << 14;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final AtomicLongArray stripes = new AtomicLongArray(STRIPES);
+
+    public long version(String resource) {
+        return counter(resource).get();
+    }
+
+    public String etag(String resource) {
+        return etag(resource, counter(resource).get());
+    }
+
+    // For resources that already keep their own version, such as the package catalog
+    public String etag(String resource, long version) {
+        return "\"" + resource + '-' + epoch + '-' + version + "\"";
+    }
+
+    public String entityEtag(String resource, long id) {
+        return "\"" + resource + '-' + id + '-' + epoch + '-' + counter(resource).get() + '.'
+                + stripes.get(stripe(resource, id)) + "\"";
+    }
+
+    public void bump(String resource) {
+        TransactionCallbacks.afterCommit(() -> counter(resource).incrementAndGet());
+    }
+
+    public void bumpEntities(String resource, Collection<Long> ids) {
+        TransactionCallbacks.afterCommit(() -> ids.forEach(id -> stripes.incrementAndGet(stripe(resource, id))));
+    }
+
+    private AtomicLong counter(String resource) {
+        return counters.computeIfAbsent(resource, r -> new AtomicLong());
+    }
+
+    private static int stripe(String resource, long id) {
+        return (31 * resource.hashCode() + Long.hashCode(id * 0x9E3779B97F4A7C15L)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,43 @@
+package com.hospital.config;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Identifies the caller for per-client state such as rate-limit buckets and
+ * idempotency records. Anyone can obtain a token for any username, so a JWT
+ * subject is never trusted on its own: it is always paired with the client
+ * address. Anonymous requests are keyed by address alone. Behind a proxy the
+ * address is only the client's if {@code server.forward-headers-strategy} is
+ * set.
+ */
+public final class ClientKeys {
+
+    private ClientKeys() {
+    }
+
+    /**
+     * "sub:{subject}|ip:{address}" for an authenticated caller, otherwise
+     * "ip:{address}".
+     */
+    public static String of(HttpServletRequest request) {
+        String subject = subject();
+        String address = "ip:" + request.getRemoteAddr();
+        return subject != null ? "sub:" + subject + '|' + address : address;
+    }
+
+    /**
+     * The authenticated JWT subject, or null for anonymous requests.
+     */
+    public static String subject() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
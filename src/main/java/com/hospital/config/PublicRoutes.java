@@ -0,0 +1,39 @@
+package com.hospital.config;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Routes that never need a principal: docs, health/metrics, the H2 console and
+ * the root banner. Shared by {@link SecurityConfig} and the JWT filter so the
+ * two cannot drift apart.
+ */
+public final class PublicRoutes {
+
+    public static final String[] PATTERNS = { "/", "/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**",
+            "/swagger-resources/**", "/webjars/**", "/health", "/actuator/**", "/h2-console/**" };
+
+    private static final List<PathPattern> COMPILED;
+
+    static {
+        PathPatternParser parser = new PathPatternParser();
+        COMPILED = Arrays.stream(PATTERNS).map(parser::parse).toList();
+    }
+
+    private PublicRoutes() {
+    }
+
+    public static boolean matches(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (PathPattern pattern : COMPILED) {
+            if (pattern.matches(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
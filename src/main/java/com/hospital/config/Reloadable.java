@@ -0,0 +1,14 @@
+package com.hospital.config;
+
+/**
+ * An in-memory projection of database state. {@link StartupReloader} fills
+ * every one before the web server starts taking requests.
+ */
+public interface Reloadable {
+
+    /**
+     * Replaces the projection with the current database state. At startup it
+     * runs inside a read-only transaction.
+     */
+    void reload();
+}
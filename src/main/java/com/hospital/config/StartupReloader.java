@@ -0,0 +1,33 @@
+package com.hospital.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Loads every {@link Reloadable} projection once all singletons exist, before
+ * the web server starts taking requests. Each load gets its own read-only
+ * transaction, which also keeps streamed queries open while they are read.
+ */
+@Component
+public class StartupReloader implements SmartInitializingSingleton {
+
+    @Autowired(required = false)
+    private List<Reloadable> projections = List.of();
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        for (Reloadable projection : projections) {
+            transaction.executeWithoutResult(status -> projection.reload());
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.hospital.idempotency;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hospital.config.ClientKeys;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Makes configured write routes safe to retry. A request carrying an
+ * {@code Idempotency-Key} header is executed once per caller and key; its
+ * successful response is kept for the TTL and replayed to later requests with
+ * the same key and body. A duplicate that arrives while the first is still
+ * running waits for that execution instead of starting its own. Failed
+ * executions are forgotten so the client can retry them. A success whose body
+ * is over {@code max-response-bytes} is remembered without its body, so a
+ * retry is refused rather than run twice. The store is weighed by the bytes it
+ * keeps, so {@code max-stored-bytes} caps its heap use and the oldest keys are
+ * evicted first. Runs after {@code RateLimitFilter} and only on the initial
+ * dispatch; requests without the header pass straight through.
+ */
+@Component
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    // Rough heap cost of an entry besides its body: key, execution, future and cache node
+    private static final int ENTRY_OVERHEAD_BYTES = 512;
+
+    @Autowired
+    private IdempotencyProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private List<IdempotentRoute> routes;
+
+    // Bounded by weight and age; in-flight executions live here too so duplicates can join them
+    private Cache<String, Execution> executions;
+
+    @PostConstruct
+    void init() {
+        PathPatternParser parser = new PathPatternParser();
+        routes = properties.getRoutes().stream()
+                .map(route -> new IdempotentRoute(route, parser.parse(route.getPattern()),
+                        counter(route, "executed"), counter(route, "replayed"), counter(route, "mismatched")))
+                .collect(Collectors.toList());
+        executions = Caffeine.newBuilder().maximumWeight(properties.getMaxStoredBytes())
+                .weigher((String key, Execution execution) -> ENTRY_OVERHEAD_BYTES + 2 * key.length()
+                        + execution.storedBytes())
+                .expireAfterWrite(properties.getTtlMinutes(), TimeUnit.MINUTES).build();
+    }
+
+    // The wrapped request only serves blocking reads of the cached body
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || routes.isEmpty() || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain chain) throws ServletException, IOException {
+
+        IdempotentRoute route = match(request);
+        if (route == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST,
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(properties.getMaxBodyBytes() + 1);
+        if (body.length > properties.getMaxBodyBytes()) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Request body is too large to be made idempotent");
+            return;
+        }
+
+        String storeKey = route.config.getName() + '|' + ClientKeys.of(request) + '|' + key;
+        String fingerprint = fingerprint(request, body);
+        while (true) {
+            Execution mine = new Execution(fingerprint);
+            Execution existing = executions.asMap().putIfAbsent(storeKey, mine);
+            if (existing == null) {
+                route.executed.increment();
+                execute(storeKey, mine, new CachedBodyRequest(request, body), response, chain);
+                return;
+            }
+            if (!existing.fingerprint.equals(fingerprint)) {
+                route.mismatched.increment();
+                reject(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        HEADER + " was already used for a different request");
+                return;
+            }
+            StoredResponse stored;
+            try {
+                stored = existing.result.get(properties.getInFlightWaitSeconds(), TimeUnit.SECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                reject(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still in progress");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reject(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still in progress");
+                return;
+            }
+            if (stored == StoredResponse.NOT_KEPT) {
+                reject(response, HttpStatus.CONFLICT, "A request with this " + HEADER
+                        + " already succeeded but its response was too large to replay");
+                return;
+            }
+            if (stored != null) {
+                route.replayed.increment();
+                stored.writeTo(response);
+                return;
+            }
+            // The first attempt failed and was forgotten; try to run it ourselves
+        }
+    }
+
+    private void execute(String storeKey, Execution execution, HttpServletRequest request,
+            HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            chain.doFilter(request, wrapper);
+            if (HttpStatus.valueOf(wrapper.getStatus()).is2xxSuccessful()) {
+                stored = wrapper.getContentSize() > properties.getMaxResponseBytes() ? StoredResponse.NOT_KEPT
+                        : new StoredResponse(wrapper.getStatus(), wrapper.getContentType(),
+                                wrapper.getContentAsByteArray());
+            }
+        } finally {
+            if (stored == null) {
+                executions.asMap().remove(storeKey, execution);
+                execution.result.complete(null);
+            } else {
+                execution.result.complete(stored);
+                // Writing the entry again makes the cache re-weigh it with its body
+                executions.asMap().replace(storeKey, execution, execution);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private IdempotentRoute match(HttpServletRequest request) {
+        PathContainer path = null;
+        for (IdempotentRoute route : routes) {
+            if (route.config.getMethod() != null && !route.config.getMethod().equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            if (path == null) {
+                path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+            }
+            if (route.pattern.matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private Counter counter(IdempotencyProperties.Route route, String outcome) {
+        return Counter.builder("idempotency.requests").tag("route", route.getName()).tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"" + message + "\",\"status\":\"error\"}");
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + ' ' + request.getRequestURI() + '?' + request.getQueryString() + '\n')
+                    .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Execution {
+        final String fingerprint;
+        // Completed with the response to replay, or null if it must not be replayed
+        final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+
+        Execution(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        int storedBytes() {
+            StoredResponse stored = result.getNow(null);
+            return stored == null ? 0 : stored.body.length;
+        }
+    }
+
+    private static final class StoredResponse {
+        // Marks a success too large to keep; its key stays taken until the TTL expires
+        static final StoredResponse NOT_KEPT = new StoredResponse(0, null, new byte[0]);
+
+        final int status;
+        final String contentType;
+        final byte[] body;
+
+        StoredResponse(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        void writeTo(HttpServletResponse response) throws IOException {
+            response.setStatus(status);
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            response.setHeader(REPLAYED_HEADER, "true");
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    private static final class IdempotentRoute {
+        final IdempotencyProperties.Route config;
+        final PathPattern pattern;
+        final Counter executed;
+        final Counter replayed;
+        final Counter mismatched;
+
+        IdempotentRoute(IdempotencyProperties.Route config, PathPattern pattern, Counter executed, Counter replayed,
+                Counter mismatched) {
+            this.config = config;
+            this.pattern = pattern;
+            this.executed = executed;
+            this.replayed = replayed;
+            this.mismatched = mismatched;
+        }
+    }
+}
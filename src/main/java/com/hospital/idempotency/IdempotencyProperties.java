@@ -0,0 +1,103 @@
+package com.hospital.idempotency;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+    private boolean enabled = true;
+    private long maxStoredBytes = 67108864;
+    private long ttlMinutes = 1440;
+    private long inFlightWaitSeconds = 30;
+    private int maxBodyBytes = 65536;
+    private int maxResponseBytes = 65536;
+    private List<Route> routes = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxStoredBytes() {
+        return maxStoredBytes;
+    }
+
+    public void setMaxStoredBytes(long maxStoredBytes) {
+        this.maxStoredBytes = maxStoredBytes;
+    }
+
+    public long getTtlMinutes() {
+        return ttlMinutes;
+    }
+
+    public void setTtlMinutes(long ttlMinutes) {
+        this.ttlMinutes = ttlMinutes;
+    }
+
+    public long getInFlightWaitSeconds() {
+        return inFlightWaitSeconds;
+    }
+
+    public void setInFlightWaitSeconds(long inFlightWaitSeconds) {
+        this.inFlightWaitSeconds = inFlightWaitSeconds;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public int getMaxResponseBytes() {
+        return maxResponseBytes;
+    }
+
+    public void setMaxResponseBytes(int maxResponseBytes) {
+        this.maxResponseBytes = maxResponseBytes;
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<Route> routes) {
+        this.routes = routes;
+    }
+
+    public static class Route {
+        private String name;
+        private String method;
+        private String pattern;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.hospital.insurance.controller;
 
+import java.io.IOException;
 import java.util.List;
-import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,7 +17,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.hospital.caching.ReferencePayloads;
+import com.hospital.caching.ResourceVersions;
 import com.hospital.insurance.dto.ClaimInitiationRequest;
 import com.hospital.insurance.dto.ClaimInitiationResponse;
 import com.hospital.insurance.dto.InsurerDTO;
@@ -28,6 +33,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/insurance")
@@ -39,14 +46,25 @@ public class InsuranceController {
         @Autowired
         private InsuranceClaimService claimService;
 
+        @Autowired
+        private ResourceVersions resourceVersions;
+
+        @Autowired
+        private ReferencePayloads referencePayloads;
+
         @GetMapping("/GetAllInsurerDetail")
-        @Operation(summary = "Get All Insurer Details", description = "Retrieve comprehensive list of all active insurance providers with their coverage details, limits, and contact information")
+        @Operation(summary = "Get All Insurer Details", description = "Retrieve comprehensive list of all active insurance providers with their coverage details, limits, and contact information. Supports If-None-Match.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Successfully retrieved all insurer details"),
+                        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
                         @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
-        public ResponseEntity<List<InsurerDTO>> getAllInsurerDetails() {
+        public ResponseEntity<List<InsurerDTO>> getAllInsurerDetails(WebRequest request) {
+                String etag = resourceVersions.etag(ResourceVersions.INSURERS);
+                if (request.checkNotModified(etag)) {
+                        return null;
+                }
                 List<InsurerDTO> insurers = claimService.getAllInsurerDetails();
-                return ResponseEntity.ok(insurers);
+                return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(insurers);
         }
 
         @GetMapping("/GetInsurerByPackageName")
@@ -97,27 +115,39 @@ public class InsuranceController {
         }
 
         @GetMapping("/claims/patient/{patientId}")
-        @Operation(summary = "Get Claim by Patient ID", description = "Retrieve insurance claim details for a specific patient")
+        @Operation(summary = "Get Claim by Patient ID", description = "Retrieve insurance claim details for a specific patient. Supports If-None-Match.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Successfully retrieved patient's claim"),
+                        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
                         @ApiResponse(responseCode = "404", description = "No claim found for the specified patient"),
                         @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
         public ResponseEntity<ClaimRequest> getClaimByPatientId(
-                        @Parameter(description = "Patient ID", required = true) @PathVariable Long patientId) {
+                        @Parameter(description = "Patient ID", required = true) @PathVariable Long patientId,
+                        WebRequest request) {
+                String etag = resourceVersions.etag(ResourceVersions.CLAIMS);
+                if (request.checkNotModified(etag)) {
+                        return null;
+                }
                 ClaimRequest claim = claimService.getClaimByPatientId(patientId);
-                return ResponseEntity.ok(claim);
+                return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(claim);
         }
 
         @GetMapping("/claims/reference/{referenceNumber}")
-        @Operation(summary = "Get Claim by Reference Number", description = "Retrieve insurance claim details using claim reference number")
+        @Operation(summary = "Get Claim by Reference Number", description = "Retrieve insurance claim details using claim reference number. Supports If-None-Match.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Successfully retrieved claim details"),
+                        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
                         @ApiResponse(responseCode = "404", description = "Claim not found with specified reference number"),
                         @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
         public ResponseEntity<ClaimRequest> getClaimByReferenceNumber(
-                        @Parameter(description = "Claim reference number", required = true) @PathVariable String referenceNumber) {
+                        @Parameter(description = "Claim reference number", required = true) @PathVariable String referenceNumber,
+                        WebRequest request) {
+                String etag = resourceVersions.etag(ResourceVersions.CLAIMS);
+                if (request.checkNotModified(etag)) {
+                        return null;
+                }
                 ClaimRequest claim = claimService.getClaimByReferenceNumber(referenceNumber);
-                return ResponseEntity.ok(claim);
+                return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(claim);
         }
 
         @PutMapping("/claims/{claimId}/status")
@@ -133,27 +163,14 @@ public class InsuranceController {
                 return ResponseEntity.ok(updatedClaim);
         }
 
-        @GetMapping("/insurance-info")
-        @Operation(summary = "Get Insurance Information", description = "Retrieve general information about insurance coverage and claim processing")
+        @GetMapping(value = "/insurance-info", produces = MediaType.APPLICATION_JSON_VALUE)
+        @Operation(summary = "Get Insurance Information", description = "Retrieve general information about insurance coverage and claim processing. "
+                        + "Served from pre-serialized bytes, gzip-compressed when the client accepts it.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Successfully retrieved insurance information"),
+                        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
                         @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
-        public ResponseEntity<Map<String, Object>> getInsuranceInfo() {
-                Map<String, Object> insuranceInfo = Map.of("supportedSpecializations",
-                                List.of("Orthopaedics", "Urology"),
-                                "claimProcessingSteps",
-                                List.of("1. Select appropriate insurer for treatment package",
-                                                "2. Submit claim with patient and treatment details",
-                                                "3. System calculates coverage and balance amount",
-                                                "4. Claim reference number generated",
-                                                "5. Expected disbursement date provided",
-                                                "6. Patient pays balance amount"),
-                                "claimStatuses",
-                                List.of("INITIATED", "PROCESSING", "APPROVED", "REJECTED", "DISBURSED"),
-                                "balanceCalculation",
-                                "Balance Amount = Treatment Cost - Insurance Coverage (up to limit)",
-                                "averageProcessingTime", "7-15 days depending on insurer", "totalActiveInsurers",
-                                claimService.getAllInsurerDetails().size());
-                return ResponseEntity.ok(insuranceInfo);
+        public void getInsuranceInfo(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                referencePayloads.write(InsuranceClaimService.INSURANCE_INFO_PAYLOAD, request, response);
         }
 }
\ No newline at end of file
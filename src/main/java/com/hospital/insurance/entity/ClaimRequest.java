@@ -7,10 +7,16 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 @Entity
-@Table(name = "claim_requests")
+@Table(name = "claim_requests", uniqueConstraints = @UniqueConstraint(name = "uk_claim_reference_number", columnNames = "claimReferenceNumber"), indexes = {
+        @Index(name = "idx_claim_status", columnList = "claimStatus"),
+        @Index(name = "idx_claim_patient_id", columnList = "patientId"),
+        @Index(name = "idx_claim_patient_name", columnList = "patientName"),
+        @Index(name = "idx_claim_insurer_name", columnList = "insurerName") })
 public class ClaimRequest {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
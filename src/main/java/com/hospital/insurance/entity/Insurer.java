@@ -5,10 +5,14 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "insurers")
+// insurerName is already unique; findByActive is left unindexed as a boolean column
+@Table(name = "insurers", indexes = {
+        @Index(name = "idx_insurer_package_name", columnList = "packageName"),
+        @Index(name = "idx_insurer_amount_limit", columnList = "insuranceAmountLimit") })
 public class Insurer {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
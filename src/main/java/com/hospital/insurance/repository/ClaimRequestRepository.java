@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.hospital.insurance.entity.ClaimRequest;
@@ -19,4 +20,10 @@ public interface ClaimRequestRepository extends JpaRepository<ClaimRequest, Long
     List<ClaimRequest> findByInsurerName(String insurerName);
 
     Optional<ClaimRequest> findByClaimReferenceNumber(String claimReferenceNumber);
-}
\ No newline at end of file
+
+    @Query("select c.claimStatus, count(c) from ClaimRequest c group by c.claimStatus")
+    List<Object[]> countGroupedByClaimStatus();
+
+    @Query("select c.insurerName, count(c) from ClaimRequest c group by c.insurerName")
+    List<Object[]> countGroupedByInsurerName();
+}
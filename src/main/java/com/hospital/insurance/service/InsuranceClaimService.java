@@ -3,12 +3,15 @@ package com.hospital.insurance.service;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.hospital.caching.ReferencePayloads;
+import com.hospital.caching.ResourceVersions;
 import com.hospital.insurance.dto.ClaimInitiationRequest;
 import com.hospital.insurance.dto.ClaimInitiationResponse;
 import com.hospital.insurance.dto.InsurerDTO;
@@ -16,17 +19,49 @@ import com.hospital.insurance.entity.ClaimRequest;
 import com.hospital.insurance.entity.Insurer;
 import com.hospital.insurance.repository.ClaimRequestRepository;
 import com.hospital.insurance.repository.InsurerRepository;
+import com.hospital.stats.DashboardStats;
+
+import jakarta.annotation.PostConstruct;
 
 @Service
 @Transactional
 public class InsuranceClaimService {
 
+    public static final String INSURANCE_INFO_PAYLOAD = "insurance-info";
+
     @Autowired
     private InsurerRepository insurerRepository;
 
     @Autowired
     private ClaimRequestRepository claimRequestRepository;
 
+    @Autowired
+    private DashboardStats dashboardStats;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private ReferencePayloads referencePayloads;
+
+    @PostConstruct
+    void registerReferencePayloads() {
+        referencePayloads.register(INSURANCE_INFO_PAYLOAD, () -> resourceVersions.version(ResourceVersions.INSURERS),
+                this::getInsuranceReferenceInfo);
+    }
+
+    public Map<String, Object> getInsuranceReferenceInfo() {
+        return Map.of("supportedSpecializations", List.of("Orthopaedics", "Urology"), "claimProcessingSteps",
+                List.of("1. Select appropriate insurer for treatment package",
+                        "2. Submit claim with patient and treatment details",
+                        "3. System calculates coverage and balance amount", "4. Claim reference number generated",
+                        "5. Expected disbursement date provided", "6. Patient pays balance amount"),
+                "claimStatuses", List.of("INITIATED", "PROCESSING", "APPROVED", "REJECTED", "DISBURSED"),
+                "balanceCalculation", "Balance Amount = Treatment Cost - Insurance Coverage (up to limit)",
+                "averageProcessingTime", "7-15 days depending on insurer", "totalActiveInsurers",
+                insurerRepository.findByActive(true).size());
+    }
+
     public List<InsurerDTO> getAllInsurerDetails() {
         return insurerRepository.findByActive(true).stream().map(this::convertToDTO).collect(Collectors.toList());
     }
@@ -57,9 +92,6 @@ public class InsuranceClaimService {
         double insuranceCoverage = Math.min(request.getTreatmentCost(), insurer.getInsuranceAmountLimit());
         double balanceAmount = Math.max(0, request.getTreatmentCost() - insuranceCoverage);
 
-        // Generate claim reference number
-        String claimReferenceNumber = generateClaimReferenceNumber(insurer.getInsurerName());
-
         // Calculate expected disbursement date
         LocalDateTime expectedDisbursementDate = LocalDateTime.now().plusDays(insurer.getDisbursementDurationDays());
 
@@ -68,12 +100,18 @@ public class InsuranceClaimService {
                 request.getTreatmentPackageName(), request.getTreatmentCost(), insurer.getInsurerName(),
                 insurer.getPackageName(), insurer.getInsuranceAmountLimit(), balanceAmount);
 
-        claimRequest.setClaimReferenceNumber(claimReferenceNumber);
         claimRequest.setExpectedDisbursementDate(expectedDisbursementDate);
         claimRequest.setPatientId(request.getPatientId());
 
         ClaimRequest savedClaim = claimRequestRepository.save(claimRequest);
 
+        // Generate claim reference number from the generated id, which is unique by construction;
+        // the managed entity is updated on flush
+        String claimReferenceNumber = generateClaimReferenceNumber(insurer.getInsurerName(), savedClaim.getId());
+        savedClaim.setClaimReferenceNumber(claimReferenceNumber);
+        dashboardStats.claimAdded(savedClaim.getClaimStatus(), savedClaim.getInsurerName());
+        resourceVersions.bump(ResourceVersions.CLAIMS);
+
         // Build response
         return new ClaimInitiationResponse(savedClaim.getId(), claimReferenceNumber, request.getPatientName(),
                 insurer.getInsurerName(), request.getTreatmentCost(), insuranceCoverage, balanceAmount, "INITIATED",
@@ -100,7 +138,9 @@ public class InsuranceClaimService {
         ClaimRequest claim = claimRequestRepository.findById(claimId)
                 .orElseThrow(() -> new RuntimeException("Claim not found with ID: " + claimId));
 
+        dashboardStats.claimStatusChanged(claim.getClaimStatus(), newStatus.toUpperCase());
         claim.setClaimStatus(newStatus.toUpperCase());
+        resourceVersions.bump(ResourceVersions.CLAIMS);
         return claimRequestRepository.save(claim);
     }
 
@@ -110,10 +150,11 @@ public class InsuranceClaimService {
                 insurer.getContactPhone(), insurer.getAddress(), insurer.getWebsite(), insurer.getActive());
     }
 
-    private String generateClaimReferenceNumber(String insurerName) {
+    private String generateClaimReferenceNumber(String insurerName, Long claimId) {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
         String insurerCode = insurerName.replaceAll("\\s+", "").substring(0, Math.min(3, insurerName.length()))
                 .toUpperCase();
-        return "MF-" + insurerCode + "-" + timestamp;
+        // The claim id keeps references unique when one insurer gets several claims per second
+        return "MF-" + insurerCode + "-" + timestamp + "-" + String.format("%06d", claimId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.hospital.ratelimit;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hospital.config.ClientKeys;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Per-route admission control keyed by JWT subject and client address, or the
+ * address alone for anonymous callers (see {@link ClientKeys}). Authenticated
+ * callers also draw from an address-wide bucket a few times larger, so minting
+ * fresh subjects from one address does not multiply its limit. Runs after
+ * {@code JwtAuthenticationFilter} so the subject is known. Rejected requests
+ * get 429 with a Retry-After header.
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private List<LimitedRoute> routes;
+
+    // Buckets for idle clients are evicted so memory stays bounded
+    private Cache<String, TokenBucket> buckets;
+
+    @PostConstruct
+    void init() {
+        PathPatternParser parser = new PathPatternParser();
+        routes = properties.getRoutes().stream().map(route -> new LimitedRoute(route, parser.parse(route.getPattern()),
+                Counter.builder("ratelimit.requests").tag("route", route.getName()).tag("outcome", "admitted")
+                        .register(meterRegistry),
+                Counter.builder("ratelimit.requests").tag("route", route.getName()).tag("outcome", "rejected")
+                        .register(meterRegistry)))
+                .collect(Collectors.toList());
+        buckets = Caffeine.newBuilder().maximumSize(properties.getMaxTrackedClients())
+                .expireAfterAccess(properties.getIdleEvictionMinutes(), TimeUnit.MINUTES).build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || routes.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain chain) throws ServletException, IOException {
+
+        LimitedRoute route = match(request);
+        if (route == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long now = System.nanoTime();
+        long waitNanos = 0;
+        if (ClientKeys.subject() != null) {
+            int multiplier = Math.max(1, properties.getAddressCapacityMultiplier());
+            waitNanos = acquire(route.config.getName() + "|addr:" + request.getRemoteAddr(),
+                    route.config.getCapacity() * multiplier, route.refillIntervalNanos / multiplier, now);
+        }
+        if (waitNanos == 0) {
+            waitNanos = acquire(route.config.getName() + '|' + ClientKeys.of(request), route.config.getCapacity(),
+                    route.refillIntervalNanos, now);
+        }
+        if (waitNanos == 0) {
+            route.admitted.increment();
+            chain.doFilter(request, response);
+            return;
+        }
+
+        route.rejected.increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many requests, retry after " + retryAfterSeconds
+                + " seconds\",\"status\":\"error\"}");
+    }
+
+    private LimitedRoute match(HttpServletRequest request) {
+        PathContainer path = null;
+        for (LimitedRoute route : routes) {
+            if (route.config.getMethod() != null && !route.config.getMethod().equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            if (path == null) {
+                path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+            }
+            if (route.pattern.matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private long acquire(String key, int capacity, long refillIntervalNanos, long now) {
+        return buckets.get(key, k -> new TokenBucket(capacity, refillIntervalNanos, now)).tryAcquire(now);
+    }
+
+    private static final class LimitedRoute {
+        final RateLimitProperties.Route config;
+        final PathPattern pattern;
+        final long refillIntervalNanos;
+        final Counter admitted;
+        final Counter rejected;
+
+        LimitedRoute(RateLimitProperties.Route config, PathPattern pattern, Counter admitted, Counter rejected) {
+            this.config = config;
+            this.pattern = pattern;
+            this.refillIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, config.getRefillPerMinute());
+            this.admitted = admitted;
+            this.rejected = rejected;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.hospital.ratelimit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private long maxTrackedClients = 100000;
+    private long idleEvictionMinutes = 10;
+    private int addressCapacityMultiplier = 5;
+    private List<Route> routes = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxTrackedClients() {
+        return maxTrackedClients;
+    }
+
+    public void setMaxTrackedClients(long maxTrackedClients) {
+        this.maxTrackedClients = maxTrackedClients;
+    }
+
+    public long getIdleEvictionMinutes() {
+        return idleEvictionMinutes;
+    }
+
+    public void setIdleEvictionMinutes(long idleEvictionMinutes) {
+        this.idleEvictionMinutes = idleEvictionMinutes;
+    }
+
+    public int getAddressCapacityMultiplier() {
+        return addressCapacityMultiplier;
+    }
+
+    public void setAddressCapacityMultiplier(int addressCapacityMultiplier) {
+        this.addressCapacityMultiplier = addressCapacityMultiplier;
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<Route> routes) {
+        this.routes = routes;
+    }
+
+    public static class Route {
+        private String name;
+        private String method;
+        private String pattern;
+        private int capacity;
+        private int refillPerMinute;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getRefillPerMinute() {
+            return refillPerMinute;
+        }
+
+        public void setRefillPerMinute(int refillPerMinute) {
+            this.refillPerMinute = refillPerMinute;
+        }
+    }
+}
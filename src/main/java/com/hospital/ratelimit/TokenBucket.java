@@ -0,0 +1,40 @@
+package com.hospital.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket expressed as a generic cell rate algorithm: the only
+ * state is the theoretical arrival time of the next request, updated with a
+ * single CAS. Admits bursts of up to {@code capacity} requests and refills one
+ * token every {@code refillIntervalNanos}.
+ */
+class TokenBucket {
+    private final long refillIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(int capacity, long refillIntervalNanos, long nowNanos) {
+        this.refillIntervalNanos = refillIntervalNanos;
+        this.burstToleranceNanos = refillIntervalNanos * (capacity - 1L);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return 0 if admitted, otherwise the nanoseconds until a token is free
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = Math.max(tat, nowNanos);
+            long allowAt = base - burstToleranceNanos;
+            if (nowNanos < allowAt) {
+                return allowAt - nowNanos;
+            }
+            if (theoreticalArrival.compareAndSet(tat, base + refillIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
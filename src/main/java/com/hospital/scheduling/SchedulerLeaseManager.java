@@ -0,0 +1,81 @@
+package com.hospital.scheduling;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Database-backed leases so that a scheduled job runs on one node at a time.
+ * A lease is a row in scheduler_leases taken or extended with a single
+ * conditional UPDATE; whichever node's update matches the row owns the job
+ * until the lease expires or is released. Holders of long runs re-acquire
+ * between units of work to extend the lease.
+ */
+@Component
+public class SchedulerLeaseManager {
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    private final String owner = hostName() + ":" + UUID.randomUUID();
+
+    @PostConstruct
+    void init() {
+        // Lease changes commit on their own, independent of any caller transaction
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean tryAcquire(String name, Duration duration) {
+        Instant now = Instant.now();
+        if (update(name, now, now.plus(duration))) {
+            return true;
+        }
+        // First use of this lease: create the row expired, then compete for it as usual
+        if (!Boolean.TRUE.equals(transaction.execute(status -> leaseRepository.existsById(name)))) {
+            try {
+                transaction.executeWithoutResult(status -> leaseRepository.create(name, owner, now));
+            } catch (DataIntegrityViolationException e) {
+                // Another node created it first
+            }
+            return update(name, now, now.plus(duration));
+        }
+        return false;
+    }
+
+    public void release(String name) {
+        transaction.executeWithoutResult(status -> leaseRepository.release(name, owner, Instant.now()));
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    private boolean update(String name, Instant now, Instant lockedUntil) {
+        Integer updated = transaction.execute(status -> leaseRepository.acquire(name, owner, now, lockedUntil));
+        return updated != null && updated == 1;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.hospital.scheduling;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // Takes the lease if it has expired, or extends it if this node already holds it
+    @Modifying
+    @Query("update SchedulerLease l set l.owner = :owner, l.lockedUntil = :lockedUntil "
+            + "where l.name = :name and (l.lockedUntil <= :now or l.owner = :owner)")
+    int acquire(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now,
+            @Param("lockedUntil") Instant lockedUntil);
+
+    // Plain insert (not merge) so that two nodes creating the row at once collide on the key
+    @Modifying
+    @Query(value = "insert into scheduler_leases (name, owner, locked_until) values (:name, :owner, :lockedUntil)", nativeQuery = true)
+    int create(@Param("name") String name, @Param("owner") String owner, @Param("lockedUntil") Instant lockedUntil);
+
+    @Modifying
+    @Query("update SchedulerLease l set l.lockedUntil = :now where l.name = :name and l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now);
+}
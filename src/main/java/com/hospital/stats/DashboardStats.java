@@ -0,0 +1,122 @@
+package com.hospital.stats;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.hospital.config.Reloadable;
+import com.hospital.config.TransactionCallbacks;
+import com.hospital.insurance.repository.ClaimRequestRepository;
+import com.hospital.treatment.service.repository.PatientDetailRepository;
+
+/**
+ * Dashboard counters per treatment status, treatment package, claim status and
+ * insurer. Services report each change from inside the transaction that makes
+ * it; the deltas are held back and applied to striped counters only when that
+ * transaction commits, so rollbacks never skew the counts. Counters
+ * are rebuilt from SQL aggregates before the web server starts taking requests
+ * and periodically after that, which also folds in changes made by other nodes.
+ */
+@Component
+public class DashboardStats implements Reloadable {
+
+    public enum Dimension {
+        TREATMENT_STATUS, TREATMENT_PACKAGE, CLAIM_STATUS, CLAIM_INSURER
+    }
+
+    @Autowired
+    private PatientDetailRepository patientRepository;
+
+    @Autowired
+    private ClaimRequestRepository claimRequestRepository;
+
+    private volatile Map<Dimension, Map<String, LongAdder>> counters = emptyCounters();
+
+    // The scheduled runs come through the proxy, so they get their own transaction
+    @Override
+    @Scheduled(initialDelayString = "${stats.rebuild-interval-ms:300000}", fixedDelayString = "${stats.rebuild-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reload() {
+        Map<Dimension, Map<String, LongAdder>> rebuilt = emptyCounters();
+        load(rebuilt.get(Dimension.TREATMENT_STATUS), patientRepository.countGroupedByTreatmentStatus());
+        load(rebuilt.get(Dimension.TREATMENT_PACKAGE), patientRepository.countGroupedByTreatmentPackageName());
+        load(rebuilt.get(Dimension.CLAIM_STATUS), claimRequestRepository.countGroupedByClaimStatus());
+        load(rebuilt.get(Dimension.CLAIM_INSURER), claimRequestRepository.countGroupedByInsurerName());
+        counters = rebuilt;
+    }
+
+    public void patientAdded(String status, String packageName) {
+        adjust(Dimension.TREATMENT_STATUS, status, 1);
+        adjust(Dimension.TREATMENT_PACKAGE, packageName, 1);
+    }
+
+    public void patientStatusChanged(String from, String to) {
+        moved(Dimension.TREATMENT_STATUS, from, to);
+    }
+
+    public void claimAdded(String status, String insurerName) {
+        adjust(Dimension.CLAIM_STATUS, status, 1);
+        adjust(Dimension.CLAIM_INSURER, insurerName, 1);
+    }
+
+    public void claimStatusChanged(String from, String to) {
+        moved(Dimension.CLAIM_STATUS, from, to);
+    }
+
+    public long total(Dimension dimension) {
+        return counters.get(dimension).values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    // Non-zero counts, ordered by key
+    public Map<String, Long> snapshot(Dimension dimension) {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.get(dimension).forEach((key, adder) -> {
+            long value = adder.sum();
+            if (value != 0) {
+                snapshot.put(key, value);
+            }
+        });
+        return snapshot;
+    }
+
+    private void moved(Dimension dimension, String from, String to) {
+        if (from != null && from.equals(to)) {
+            return;
+        }
+        adjust(dimension, from, -1);
+        adjust(dimension, to, 1);
+    }
+
+    private void adjust(Dimension dimension, String key, long delta) {
+        if (key == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(
+                () -> counters.get(dimension).computeIfAbsent(key, k -> new LongAdder()).add(delta));
+    }
+
+    private static void load(Map<String, LongAdder> target, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                LongAdder adder = new LongAdder();
+                adder.add(((Number) row[1]).longValue());
+                target.put((String) row[0], adder);
+            }
+        }
+    }
+
+    private static Map<Dimension, Map<String, LongAdder>> emptyCounters() {
+        Map<Dimension, Map<String, LongAdder>> empty = new ConcurrentHashMap<>();
+        for (Dimension dimension : Dimension.values()) {
+            empty.put(dimension, new ConcurrentHashMap<>());
+        }
+        return empty;
+    }
+}
@@ -0,0 +1,47 @@
+package com.hospital.stats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.hospital.stats.DashboardStats.Dimension;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/stats")
+@CrossOrigin(origins = "*")
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Dashboard Statistics", description = "Aggregate counts for the portal dashboard")
+public class StatsController {
+
+        @Autowired
+        private DashboardStats dashboardStats;
+
+        @GetMapping
+        @Operation(summary = "Get Dashboard Statistics", description = "Retrieve patient counts per treatment status and package, and claim counts per status and insurer. "
+                        + "Served from counters maintained as records change, so the cost does not grow with the number of rows.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
+        public ResponseEntity<Map<String, Object>> getStats() {
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("totalPatients", dashboardStats.total(Dimension.TREATMENT_STATUS));
+                stats.put("totalClaims", dashboardStats.total(Dimension.CLAIM_STATUS));
+                stats.put("patientsByTreatmentStatus", dashboardStats.snapshot(Dimension.TREATMENT_STATUS));
+                stats.put("patientsByPackage", dashboardStats.snapshot(Dimension.TREATMENT_PACKAGE));
+                stats.put("claimsByStatus", dashboardStats.snapshot(Dimension.CLAIM_STATUS));
+                stats.put("claimsByInsurer", dashboardStats.snapshot(Dimension.CLAIM_INSURER));
+                return ResponseEntity.ok(stats);
+        }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -15,7 +16,9 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.hospital.caching.ResourceVersions;
 import com.hospital.treatment.offering.dto.SpecialistDTO;
 import com.hospital.treatment.offering.service.SpecialistService;
 
@@ -35,13 +38,21 @@ public class SpecialistController {
         @Autowired
         private SpecialistService specialistService;
 
+        @Autowired
+        private ResourceVersions resourceVersions;
+
         @GetMapping("/specialists")
-        @Operation(summary = "Get All Specialists", description = "Retrieve list of all medical specialists")
+        @Operation(summary = "Get All Specialists", description = "Retrieve list of all medical specialists. Supports If-None-Match.")
         @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Successfully retrieved specialists"),
+                        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
                         @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
-        public ResponseEntity<List<SpecialistDTO>> getAllSpecialists() {
+        public ResponseEntity<List<SpecialistDTO>> getAllSpecialists(WebRequest request) {
+                String etag = resourceVersions.etag(ResourceVersions.SPECIALISTS);
+                if (request.checkNotModified(etag)) {
+                        return null;
+                }
                 List<SpecialistDTO> specialists = specialistService.getAllSpecialists();
-                return ResponseEntity.ok(specialists);
+                return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(specialists);
         }
 
         @GetMapping("/specialistsByExpertise")
@@ -3,6 +3,7 @@ package com.hospital.treatment.offering.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,7 +12,9 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.hospital.caching.ResourceVersions;
 import com.hospital.treatment.offering.dto.TreatmentPackageDTO;
 import com.hospital.treatment.offering.service.TreatmentPackageService;
 
@@ -31,14 +34,22 @@ public class TreatmentPackageController {
         @Autowired
         private TreatmentPackageService packageService;
 
+        @Autowired
+        private ResourceVersions resourceVersions;
+
         @GetMapping("/IPTreatmentPackages")
-        @Operation(summary = "Get All Treatment Packages", description = "Retrieve list of all international patient treatment packages")
+        @Operation(summary = "Get All Treatment Packages", description = "Retrieve list of all international patient treatment packages. Supports If-None-Match.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Successfully retrieved treatment packages"),
+                        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
                         @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
-        public ResponseEntity<List<TreatmentPackageDTO>> getAllPackages() {
+        public ResponseEntity<List<TreatmentPackageDTO>> getAllPackages(WebRequest request) {
+                String etag = resourceVersions.etag(ResourceVersions.PACKAGES, packageService.catalogVersion());
+                if (request.checkNotModified(etag)) {
+                        return null;
+                }
                 List<TreatmentPackageDTO> packages = packageService.getAllPackages();
-                return ResponseEntity.ok(packages);
+                return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(packages);
         }
 
         @GetMapping("/IPTreatmentPackageByName")
@@ -5,10 +5,14 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "specialists")
+// findByAvailable is left unindexed: a boolean column is too unselective to beat a scan
+@Table(name = "specialists", indexes = {
+        @Index(name = "idx_specialist_specialization_level", columnList = "specialization, level"),
+        @Index(name = "idx_specialist_level", columnList = "level") })
 public class Specialist {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -10,11 +10,15 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 @Entity
-@Table(name = "treatment_packages")
+@Table(name = "treatment_packages", uniqueConstraints = @UniqueConstraint(name = "uk_treatment_package_name", columnNames = "name"), indexes = {
+        @Index(name = "idx_package_specialization", columnList = "specialization"),
+        @Index(name = "idx_package_level", columnList = "packageLevel") })
 public class TreatmentPackage {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,7 +31,8 @@ public class TreatmentPackage {
     private String specialization;
 
     @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "package_tests", joinColumns = @JoinColumn(name = "package_id"))
+    @CollectionTable(name = "package_tests", joinColumns = @JoinColumn(name = "package_id"),
+            indexes = @Index(name = "idx_package_tests_package", columnList = "package_id"))
     @Column(name = "test_name")
     private List<String> tests;
 
@@ -0,0 +1,29 @@
+package com.hospital.treatment.offering.service;
+
+import com.hospital.treatment.offering.entity.Specialist;
+
+/**
+ * Published after a specialist is added, updated or deleted. {@code specialist}
+ * is null for deletions.
+ */
+public class SpecialistChangedEvent {
+    private final Long specialistId;
+    private final Specialist specialist;
+
+    public SpecialistChangedEvent(Long specialistId, Specialist specialist) {
+        this.specialistId = specialistId;
+        this.specialist = specialist;
+    }
+
+    public Long getSpecialistId() {
+        return specialistId;
+    }
+
+    public Specialist getSpecialist() {
+        return specialist;
+    }
+
+    public boolean isDeleted() {
+        return specialist == null;
+    }
+}
@@ -4,8 +4,10 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.hospital.caching.ResourceVersions;
 import com.hospital.treatment.offering.dto.SpecialistDTO;
 import com.hospital.treatment.offering.entity.Specialist;
 import com.hospital.treatment.offering.repository.SpecialistRepository;
@@ -16,6 +18,12 @@ public class SpecialistService {
     @Autowired
     private SpecialistRepository specialistRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     public List<SpecialistDTO> getAllSpecialists() {
         return specialistRepository.findAll().stream().map(this::convertToDTO).collect(Collectors.toList());
     }
@@ -39,6 +47,8 @@ public class SpecialistService {
         Specialist specialist = convertToEntity(specialistDTO);
         specialist.setLevel(specialist.getLevel().toUpperCase());
         Specialist savedSpecialist = specialistRepository.save(specialist);
+        eventPublisher.publishEvent(new SpecialistChangedEvent(savedSpecialist.getId(), savedSpecialist));
+        resourceVersions.bump(ResourceVersions.SPECIALISTS);
         return convertToDTO(savedSpecialist);
     }
 
@@ -47,6 +57,8 @@ public class SpecialistService {
             throw new RuntimeException("Specialist not found with id: " + specialistId);
         }
         specialistRepository.deleteById(specialistId);
+        eventPublisher.publishEvent(new SpecialistChangedEvent(specialistId, null));
+        resourceVersions.bump(ResourceVersions.SPECIALISTS);
     }
 
     public SpecialistDTO updateSpecialist(Long specialistId, SpecialistDTO specialistDTO) {
@@ -63,6 +75,8 @@ public class SpecialistService {
         existingSpecialist.setAvailable(specialistDTO.getAvailable());
 
         Specialist updatedSpecialist = specialistRepository.save(existingSpecialist);
+        eventPublisher.publishEvent(new SpecialistChangedEvent(updatedSpecialist.getId(), updatedSpecialist));
+        resourceVersions.bump(ResourceVersions.SPECIALISTS);
         return convertToDTO(updatedSpecialist);
     }
 
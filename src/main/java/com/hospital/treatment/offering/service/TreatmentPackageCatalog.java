@@ -0,0 +1,170 @@
+package com.hospital.treatment.offering.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.hospital.config.Reloadable;
+import com.hospital.treatment.offering.entity.TreatmentPackage;
+import com.hospital.treatment.offering.repository.TreatmentPackageRepository;
+
+/**
+ * Immutable, copy-on-write snapshot of the treatment_packages table, indexed by
+ * id, normalized name and specialization. Readers take a single volatile read
+ * and never hit the database; writers build a new snapshot and swap it in.
+ * The first snapshot is loaded once every singleton exists, before the web
+ * server starts taking requests.
+ */
+@Component
+public class TreatmentPackageCatalog implements Reloadable {
+
+    @Autowired
+    private TreatmentPackageRepository packageRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(List.of(), 0);
+
+    @Override
+    public synchronized void reload() {
+        List<Entry> entries = packageRepository.findAll().stream().map(Entry::from).toList();
+        snapshot = new Snapshot(entries, snapshot.version + 1);
+    }
+
+    /**
+     * Replaces (or adds) one package. Callers invoke this only after the
+     * database change has committed.
+     */
+    public synchronized void put(TreatmentPackage pkg) {
+        Entry updated = Entry.from(pkg);
+        List<Entry> entries = new ArrayList<>(snapshot.all.size() + 1);
+        boolean replaced = false;
+        for (Entry entry : snapshot.all) {
+            if (entry.id.equals(updated.id)) {
+                entries.add(updated);
+                replaced = true;
+            } else {
+                entries.add(entry);
+            }
+        }
+        if (!replaced) {
+            entries.add(updated);
+        }
+        snapshot = new Snapshot(entries, snapshot.version + 1);
+    }
+
+    public Entry findByName(String name) {
+        return name == null ? null : snapshot.byName.get(normalize(name));
+    }
+
+    public Entry findById(Long id) {
+        return snapshot.byId.get(id);
+    }
+
+    public List<Entry> findBySpecialization(String specialization) {
+        return specialization == null ? List.of()
+                : snapshot.bySpecialization.getOrDefault(normalize(specialization), List.of());
+    }
+
+    public List<Entry> findAll() {
+        return snapshot.all;
+    }
+
+    /** Incremented on every swap; lets derived caches detect catalog changes. */
+    public long version() {
+        return snapshot.version;
+    }
+
+    static String normalize(String value) {
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Snapshot {
+        final List<Entry> all;
+        final Map<Long, Entry> byId;
+        final Map<String, Entry> byName;
+        final Map<String, List<Entry>> bySpecialization;
+        final long version;
+
+        Snapshot(List<Entry> entries, long version) {
+            Map<Long, Entry> ids = new HashMap<>();
+            Map<String, Entry> names = new HashMap<>();
+            Map<String, List<Entry>> specializations = new LinkedHashMap<>();
+            for (Entry entry : entries) {
+                ids.put(entry.id, entry);
+                names.put(normalize(entry.name), entry);
+                specializations.computeIfAbsent(normalize(entry.specialization), k -> new ArrayList<>()).add(entry);
+            }
+            specializations.replaceAll((k, v) -> List.copyOf(v));
+            this.all = List.copyOf(entries);
+            this.byId = Map.copyOf(ids);
+            this.byName = Map.copyOf(names);
+            this.bySpecialization = Map.copyOf(specializations);
+            this.version = version;
+        }
+    }
+
+    public static final class Entry {
+        private final Long id;
+        private final String name;
+        private final String specialization;
+        private final List<String> tests;
+        private final Double cost;
+        private final Integer durationWeeks;
+        private final Integer packageLevel;
+
+        Entry(Long id, String name, String specialization, List<String> tests, Double cost, Integer durationWeeks,
+                Integer packageLevel) {
+            this.id = id;
+            this.name = name;
+            this.specialization = specialization;
+            this.tests = tests == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(tests));
+            this.cost = cost;
+            this.durationWeeks = durationWeeks;
+            this.packageLevel = packageLevel;
+        }
+
+        static Entry from(TreatmentPackage pkg) {
+            return new Entry(pkg.getId(), pkg.getName(), pkg.getSpecialization(), pkg.getTests(), pkg.getCost(),
+                    pkg.getDurationWeeks(), pkg.getPackageLevel());
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getSpecialization() {
+            return specialization;
+        }
+
+        public List<String> getTests() {
+            return tests;
+        }
+
+        public Double getCost() {
+            return cost;
+        }
+
+        public Integer getDurationWeeks() {
+            return durationWeeks;
+        }
+
+        public Integer getPackageLevel() {
+            return packageLevel;
+        }
+
+        // Package 1 -> Junior, Package 2 -> Senior
+        public String getSpecialistLevel() {
+            return packageLevel != null && packageLevel == 1 ? "JUNIOR" : "SENIOR";
+        }
+    }
+}
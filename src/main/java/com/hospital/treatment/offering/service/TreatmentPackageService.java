@@ -7,6 +7,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.hospital.caching.ResourceVersions;
+import com.hospital.config.TransactionCallbacks;
 import com.hospital.treatment.offering.dto.TreatmentPackageDTO;
 import com.hospital.treatment.offering.entity.TreatmentPackage;
 import com.hospital.treatment.offering.repository.TreatmentPackageRepository;
@@ -17,21 +19,31 @@ public class TreatmentPackageService {
     @Autowired
     private TreatmentPackageRepository packageRepository;
 
-    @Transactional(readOnly = true)
+    @Autowired
+    private TreatmentPackageCatalog catalog;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     public List<TreatmentPackageDTO> getAllPackages() {
-        return packageRepository.findAll().stream().map(this::convertToDTO).collect(Collectors.toList());
+        return catalog.findAll().stream().map(this::convertToDTO).collect(Collectors.toList());
+    }
+
+    // Bumped each time a committed change is published to the catalog
+    public long catalogVersion() {
+        return catalog.version();
     }
 
-    @Transactional(readOnly = true)
     public TreatmentPackageDTO getPackageByName(String name) {
-        TreatmentPackage pkg = packageRepository.findByName(name)
-                .orElseThrow(() -> new RuntimeException("Package not found: " + name));
+        TreatmentPackageCatalog.Entry pkg = catalog.findByName(name);
+        if (pkg == null) {
+            throw new RuntimeException("Package not found: " + name);
+        }
         return convertToDTO(pkg);
     }
 
-    @Transactional(readOnly = true)
     public List<TreatmentPackageDTO> getPackagesBySpecialization(String specialization) {
-        return packageRepository.findBySpecialization(specialization).stream().map(this::convertToDTO)
+        return catalog.findBySpecialization(specialization).stream().map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
@@ -48,6 +60,11 @@ public class TreatmentPackageService {
         existingPackage.setPackageLevel(packageDTO.getPackageLevel());
 
         TreatmentPackage updatedPackage = packageRepository.save(existingPackage);
+        // Plan responses embed the package level, so every plan's ETag goes stale
+        resourceVersions.bump(ResourceVersions.TREATMENT_PLAN);
+
+        // Publish to the in-memory catalog only once the change is durable
+        TransactionCallbacks.afterCommit(() -> catalog.put(updatedPackage));
         return convertToDTO(updatedPackage);
     }
 
@@ -56,9 +73,14 @@ public class TreatmentPackageService {
                 pkg.getCost(), pkg.getDurationWeeks(), pkg.getPackageLevel());
     }
 
+    private TreatmentPackageDTO convertToDTO(TreatmentPackageCatalog.Entry pkg) {
+        return new TreatmentPackageDTO(pkg.getId(), pkg.getName(), pkg.getSpecialization(), pkg.getTests(),
+                pkg.getCost(), pkg.getDurationWeeks(), pkg.getPackageLevel());
+    }
+
     @SuppressWarnings("unused")
     private TreatmentPackage convertToEntity(TreatmentPackageDTO dto) {
         return new TreatmentPackage(dto.getName(), dto.getSpecialization(), dto.getTests(), dto.getCost(),
                 dto.getDurationWeeks(), dto.getPackageLevel());
     }
-}
\ No newline at end of file
+}
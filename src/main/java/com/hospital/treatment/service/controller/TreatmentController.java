@@ -1,10 +1,17 @@
 package com.hospital.treatment.service.controller;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,10 +22,19 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.hospital.caching.ReferencePayloads;
+import com.hospital.caching.ResourceVersions;
+import com.hospital.treatment.service.dto.BulkStatusUpdateRequest;
 import com.hospital.treatment.service.dto.PatientDetailRequest;
+import com.hospital.treatment.service.dto.PatientPage;
 import com.hospital.treatment.service.dto.TreatmentPlanResponse;
 import com.hospital.treatment.service.entity.PatientDetail;
+import com.hospital.treatment.service.service.PatientImportService;
+import com.hospital.treatment.service.service.TimetableJobService;
+import com.hospital.treatment.service.service.TreatmentPlanExportService;
 import com.hospital.treatment.service.service.TreatmentTimetableService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -27,6 +43,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/IPTreatment")
@@ -35,9 +53,26 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "Treatment Management", description = "International Patient Treatment Timetable and Management")
 public class TreatmentController {
 
+        private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
         @Autowired
         private TreatmentTimetableService treatmentService;
 
+        @Autowired
+        private PatientImportService importService;
+
+        @Autowired
+        private TreatmentPlanExportService exportService;
+
+        @Autowired
+        private TimetableJobService jobService;
+
+        @Autowired
+        private ResourceVersions resourceVersions;
+
+        @Autowired
+        private ReferencePayloads referencePayloads;
+
         @PostMapping("/generateTimetable")
         @Operation(summary = "Formulate Treatment Timetable", description = "Generate a comprehensive treatment timetable for a patient based on their ailment and chosen package. "
                         + "Automatically assigns appropriate specialist (Package 1→Junior, Package 2→Senior) and creates treatment plan.")
@@ -53,8 +88,95 @@ public class TreatmentController {
                 return new ResponseEntity<>(treatmentPlan, HttpStatus.CREATED);
         }
 
+        @PostMapping("/generateTimetables")
+        @Operation(summary = "Formulate Treatment Timetables in Bulk", description = "Generate treatment timetables for a batch of patients in one transaction. "
+                        + "Patients, plans and tests are written with JDBC batching; the whole batch is rejected if any entry is invalid.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "201", description = "Treatment timetables created successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid patient details or package information, or more patients than the batch limit"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
+        public ResponseEntity<List<TreatmentPlanResponse>> formulateTreatmentTimetables(
+                        @Parameter(description = "Patient details for each timetable to generate", required = true) @RequestBody List<PatientDetailRequest> patientDetails) {
+
+                List<TreatmentPlanResponse> treatmentPlans = treatmentService.formulateTreatmentTimetables(patientDetails);
+                return new ResponseEntity<>(treatmentPlans, HttpStatus.CREATED);
+        }
+
+        @PostMapping("/jobs/timetables")
+        @Operation(summary = "Submit Timetable Job", description = "Queue a batch of timetables for background generation and return a job id at once. "
+                        + "Poll the job, or subscribe to its events, for status and result.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "202", description = "Timetable job accepted"),
+                        @ApiResponse(responseCode = "400", description = "Empty batch, or more patients than the batch limit"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required"),
+                        @ApiResponse(responseCode = "503", description = "Job queue is full") })
+        public ResponseEntity<Map<String, Object>> submitTimetableJob(
+                        @Parameter(description = "Patient details for each timetable to generate", required = true) @RequestBody List<PatientDetailRequest> patientDetails) {
+                Map<String, Object> job = jobService.submit(patientDetails);
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                                .header(HttpHeaders.LOCATION, "/IPTreatment/jobs/" + job.get("jobId")).body(job);
+        }
+
+        @GetMapping("/jobs/{jobId}")
+        @Operation(summary = "Get Timetable Job", description = "Retrieve the status of a timetable job (QUEUED, RUNNING, SUCCEEDED, FAILED) and its result once finished")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved job"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required"),
+                        @ApiResponse(responseCode = "404", description = "Job not found or expired") })
+        public ResponseEntity<Map<String, Object>> getTimetableJob(
+                        @Parameter(description = "Job ID", required = true) @PathVariable String jobId) {
+                return ResponseEntity.ok(jobService.getJob(jobId));
+        }
+
+        @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        @Operation(summary = "Subscribe to Timetable Job", description = "Server-sent status events for a timetable job; the stream closes when the job finishes")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required"),
+                        @ApiResponse(responseCode = "404", description = "Job not found or expired") })
+        public SseEmitter subscribeTimetableJob(
+                        @Parameter(description = "Job ID", required = true) @PathVariable String jobId) {
+                return jobService.subscribe(jobId);
+        }
+
+        @PostMapping(value = "/import", consumes = { "application/x-ndjson", "text/csv" })
+        @Operation(summary = "Import Patient Manifest", description = "Stream an NDJSON or CSV patient manifest and generate a timetable for every row. "
+                        + "Rows are committed in fixed-size chunks and one NDJSON result line is streamed back per row, followed by a summary line; "
+                        + "an invalid row is reported without rolling back the rest of the import.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Import processed; see the per-row results"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required"),
+                        @ApiResponse(responseCode = "415", description = "Manifest is neither NDJSON nor CSV") })
+        public void importPatients(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                String format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(TEXT_CSV)
+                                ? PatientImportService.FORMAT_CSV
+                                : PatientImportService.FORMAT_NDJSON;
+                response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                importService.importPatients(request.getInputStream(), format, response.getOutputStream());
+        }
+
+        @GetMapping("/export")
+        @Operation(summary = "Export Treatment Plans", description = "Stream every treatment plan with its patient as NDJSON (default) or CSV. "
+                        + "Rows are read through a database cursor and written as they arrive, so exports of any size run in constant memory.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
+        public void exportTreatmentPlans(
+                        @Parameter(description = "Output format: ndjson (default) or csv") @RequestParam(defaultValue = TreatmentPlanExportService.FORMAT_NDJSON) String format,
+                        HttpServletResponse response) throws IOException {
+                boolean csv = TreatmentPlanExportService.FORMAT_CSV.equalsIgnoreCase(format);
+                response.setContentType(csv ? "text/csv" : MediaType.APPLICATION_NDJSON_VALUE);
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                                "attachment; filename=\"treatment-plans." + (csv ? "csv" : "ndjson") + "\"");
+                exportService.export(csv ? TreatmentPlanExportService.FORMAT_CSV : TreatmentPlanExportService.FORMAT_NDJSON,
+                                response.getOutputStream());
+        }
+
         @GetMapping("/treatments")
-        @Operation(summary = "Get All Treatments", description = "Retrieve list of all treatment records for dashboard statistics")
+        @Operation(summary = "Get All Treatments", deprecated = true, description = "Retrieve list of all treatment records for dashboard statistics. "
+                        + "Superseded by the paged /IPTreatment/v2/treatments.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Successfully retrieved treatments list"),
                         @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
@@ -64,7 +186,8 @@ public class TreatmentController {
         }
 
         @GetMapping("/patients")
-        @Operation(summary = "Get All Patients", description = "Retrieve list of all registered patients with their treatment status")
+        @Operation(summary = "Get All Patients", deprecated = true, description = "Retrieve list of all registered patients with their treatment status. "
+                        + "Superseded by the paged /IPTreatment/v2/patients.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Successfully retrieved patients list"),
                         @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
@@ -74,7 +197,8 @@ public class TreatmentController {
         }
 
         @GetMapping("/patients/status/{status}")
-        @Operation(summary = "Get Patients by Status", description = "Retrieve patients filtered by treatment status (IN_PROGRESS, COMPLETED, CANCELLED)")
+        @Operation(summary = "Get Patients by Status", deprecated = true, description = "Retrieve patients filtered by treatment status (IN_PROGRESS, COMPLETED, CANCELLED). "
+                        + "Superseded by the paged /IPTreatment/v2/patients/status/{status}.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Successfully retrieved patients by status"),
                         @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
@@ -84,16 +208,86 @@ public class TreatmentController {
                 return ResponseEntity.ok(patients);
         }
 
+        @GetMapping("/v2/treatments")
+        @Operation(summary = "Get Treatments Page", description = "Retrieve treatment records one keyset page at a time, optionally filtered by status and package. "
+                        + "Pass the returned nextCursor to fetch the following page.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved treatments page"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor or sort order"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
+        public ResponseEntity<PatientPage> getTreatmentsPage(
+                        @Parameter(description = "Treatment status filter (IN_PROGRESS, COMPLETED, CANCELLED)") @RequestParam(required = false) String status,
+                        @Parameter(description = "Treatment package name filter") @RequestParam(required = false) String packageName,
+                        @Parameter(description = "Sort order: id (default) or startDate") @RequestParam(required = false) String sort,
+                        @Parameter(description = "Opaque cursor from the previous page") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Page size (default 50, max 200)") @RequestParam(required = false) Integer limit) {
+                PatientPage treatments = treatmentService.getPatients(status == null ? null : status.toUpperCase(),
+                                packageName, sort, cursor, limit);
+                return ResponseEntity.ok(treatments);
+        }
+
+        @GetMapping("/v2/patients")
+        @Operation(summary = "Get Patients Page", description = "Retrieve registered patients with treatment in progress, one keyset page at a time")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved patients page"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor or sort order"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
+        public ResponseEntity<PatientPage> getPatientsPage(
+                        @Parameter(description = "Treatment package name filter") @RequestParam(required = false) String packageName,
+                        @Parameter(description = "Sort order: id (default) or startDate") @RequestParam(required = false) String sort,
+                        @Parameter(description = "Opaque cursor from the previous page") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Page size (default 50, max 200)") @RequestParam(required = false) Integer limit) {
+                PatientPage patients = treatmentService.getPatients("IN_PROGRESS", packageName, sort, cursor, limit);
+                return ResponseEntity.ok(patients);
+        }
+
+        @GetMapping("/v2/patients/status/{status}")
+        @Operation(summary = "Get Patients Page by Status", description = "Retrieve patients filtered by treatment status (IN_PROGRESS, COMPLETED, CANCELLED), one keyset page at a time")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved patients by status"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor or sort order"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
+        public ResponseEntity<PatientPage> getPatientsPageByStatus(
+                        @Parameter(description = "Treatment status (IN_PROGRESS, COMPLETED, CANCELLED)", required = true) @PathVariable String status,
+                        @Parameter(description = "Treatment package name filter") @RequestParam(required = false) String packageName,
+                        @Parameter(description = "Sort order: id (default) or startDate") @RequestParam(required = false) String sort,
+                        @Parameter(description = "Opaque cursor from the previous page") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Page size (default 50, max 200)") @RequestParam(required = false) Integer limit) {
+                PatientPage patients = treatmentService.getPatients(status.toUpperCase(), packageName, sort, cursor,
+                                limit);
+                return ResponseEntity.ok(patients);
+        }
+
+        @GetMapping("/patients/search")
+        @Operation(summary = "Search Patients", description = "Ranked substring search over patient names and ailments that tolerates small typos")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully searched patients"),
+                        @ApiResponse(responseCode = "400", description = "Empty query or unknown field"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
+        public ResponseEntity<Map<String, Object>> searchPatients(
+                        @Parameter(description = "Search text, e.g. part of a name or ailment", required = true) @RequestParam String q,
+                        @Parameter(description = "Field to search: any (default), name or ailment") @RequestParam(required = false) String field,
+                        @Parameter(description = "Maximum results (default 10, max 50)") @RequestParam(required = false) Integer limit) {
+                Map<String, Object> results = treatmentService.searchPatients(q, field, limit);
+                return ResponseEntity.ok(results);
+        }
+
         @GetMapping("/treatment-plan/{patientId}")
-        @Operation(summary = "Get Treatment Plan by Patient ID", description = "Retrieve detailed treatment plan for a specific patient including specialist assignment and schedule")
+        @Operation(summary = "Get Treatment Plan by Patient ID", description = "Retrieve detailed treatment plan for a specific patient including specialist assignment and schedule. Supports If-None-Match.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Successfully retrieved treatment plan"),
+                        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
                         @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required"),
                         @ApiResponse(responseCode = "404", description = "Patient or treatment plan not found") })
         public ResponseEntity<TreatmentPlanResponse> getTreatmentPlan(
-                        @Parameter(description = "Patient ID", required = true) @PathVariable Long patientId) {
+                        @Parameter(description = "Patient ID", required = true) @PathVariable Long patientId,
+                        WebRequest request) {
+                String etag = resourceVersions.entityEtag(ResourceVersions.TREATMENT_PLAN, patientId);
+                if (request.checkNotModified(etag)) {
+                        return null;
+                }
                 TreatmentPlanResponse treatmentPlan = treatmentService.getTreatmentPlan(patientId);
-                return ResponseEntity.ok(treatmentPlan);
+                return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(treatmentPlan);
         }
 
         @PutMapping("/patients/{patientId}/status")
@@ -111,28 +305,57 @@ public class TreatmentController {
                                 patientId.toString(), "newStatus", status.toUpperCase(), "status", "success"));
         }
 
-        @GetMapping("/packages/info")
-        @Operation(summary = "Get Package Information", description = "Retrieve information about available treatment packages for reference")
+        @PutMapping("/patients/status")
+        @Operation(summary = "Update Treatment Status in Bulk", description = "Move a list of patients to a new treatment status in one transaction (e.g. closing out a ward round). "
+                        + "Transitions are checked against the allowed status graph and an outcome is returned for every patient ID.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Statuses processed; see the per-patient outcomes"),
+                        @ApiResponse(responseCode = "400", description = "Empty or oversized ID list, or unknown status"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
+        public ResponseEntity<Map<String, Object>> updateTreatmentStatuses(
+                        @Parameter(description = "Patient IDs and the status to move them to", required = true) @RequestBody BulkStatusUpdateRequest request) {
+                String status = request.getStatus() == null ? null : request.getStatus().toUpperCase();
+                Map<String, Object> result = treatmentService.updateTreatmentStatuses(request.getPatientIds(), status);
+                return ResponseEntity.ok(result);
+        }
+
+        @GetMapping("/specialists/{specialistId}/calendar")
+        @Operation(summary = "Get Specialist Calendar", description = "Retrieve a specialist's booked treatment sessions and free session slots between two dates (at most 31 days)")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved calendar"),
+                        @ApiResponse(responseCode = "400", description = "Invalid date range"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
+        public ResponseEntity<Map<String, Object>> getSpecialistCalendar(
+                        @Parameter(description = "Specialist ID", required = true) @PathVariable Long specialistId,
+                        @Parameter(description = "First day (inclusive), ISO date", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @Parameter(description = "Last day (exclusive), ISO date", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+                Map<String, Object> calendar = treatmentService.getSpecialistCalendar(specialistId, from, to);
+                return ResponseEntity.ok(calendar);
+        }
+
+        @GetMapping("/occupancy/forecast")
+        @Operation(summary = "Get Occupancy Forecast", description = "Number of patients in treatment on each day from today, per specialization and per specialist, "
+                        + "counting every plan that is not completed or cancelled between its start and end dates")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved forecast"),
+                        @ApiResponse(responseCode = "400", description = "Invalid number of days"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
+        public ResponseEntity<Map<String, Object>> getOccupancyForecast(
+                        @Parameter(description = "Number of days to forecast (default 90, max 365)") @RequestParam(required = false) Integer days,
+                        @Parameter(description = "Specialization filter") @RequestParam(required = false) String specialization,
+                        @Parameter(description = "Specialist ID filter") @RequestParam(required = false) Long specialistId) {
+                Map<String, Object> forecast = treatmentService.getOccupancyForecast(days, specialization, specialistId);
+                return ResponseEntity.ok(forecast);
+        }
+
+        @GetMapping(value = "/packages/info", produces = MediaType.APPLICATION_JSON_VALUE)
+        @Operation(summary = "Get Package Information", description = "Retrieve information about available treatment packages for reference. "
+                        + "Served from pre-serialized bytes, gzip-compressed when the client accepts it.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Successfully retrieved package information"),
+                        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
                         @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token required") })
-        public ResponseEntity<Map<String, Object>> getPackageInfo() {
-                Map<String, Object> packageInfo = Map.of("availablePackages", List.of(
-                                Map.of("name", "Orthopaedics Package 1", "specialization", "Orthopaedics", "tests",
-                                                List.of("OPT1", "OPT2"), "cost", 2500, "durationWeeks", 4,
-                                                "assignedSpecialistLevel", "JUNIOR"),
-                                Map.of("name", "Orthopaedics Package 2", "specialization", "Orthopaedics", "tests",
-                                                List.of("OPT3", "OPT4"), "cost", 3000, "durationWeeks", 6,
-                                                "assignedSpecialistLevel", "SENIOR"),
-                                Map.of("name", "Urology Package 1", "specialization", "Urology", "tests",
-                                                List.of("UPT1", "UPT2"),
-                                                "cost", 4000, "durationWeeks", 4, "assignedSpecialistLevel", "JUNIOR"),
-                                Map.of("name", "Urology Package 2", "specialization", "Urology", "tests",
-                                                List.of("UPT3", "UPT4"),
-                                                "cost", 5000, "durationWeeks", 6, "assignedSpecialistLevel", "SENIOR")),
-                                "assignmentRules",
-                                Map.of("Package 1", "Assigned to JUNIOR specialist", "Package 2",
-                                                "Assigned to SENIOR specialist"));
-                return ResponseEntity.ok(packageInfo);
+        public void getPackageInfo(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                referencePayloads.write(TreatmentTimetableService.PACKAGE_INFO_PAYLOAD, request, response);
         }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.hospital.treatment.service.dto;
+
+import java.util.List;
+
+public class BulkStatusUpdateRequest {
+    private List<Long> patientIds;
+    private String status;
+
+    public BulkStatusUpdateRequest() {
+    }
+
+    public BulkStatusUpdateRequest(List<Long> patientIds, String status) {
+        this.patientIds = patientIds;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public List<Long> getPatientIds() {
+        return patientIds;
+    }
+
+    public void setPatientIds(List<Long> patientIds) {
+        this.patientIds = patientIds;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,45 @@
+package com.hospital.treatment.service.dto;
+
+import java.util.List;
+
+import com.hospital.treatment.service.entity.PatientDetail;
+
+public class PatientPage {
+    private List<PatientDetail> items;
+    private String nextCursor;
+    private int limit;
+
+    public PatientPage() {
+    }
+
+    public PatientPage(List<PatientDetail> items, String nextCursor, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+
+    public List<PatientDetail> getItems() {
+        return items;
+    }
+
+    public void setItems(List<PatientDetail> items) {
+        this.items = items;
+    }
+
+    // Null on the last page
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,82 @@
+package com.hospital.treatment.service.dto;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Flat read-only projection of a treatment plan joined with its patient,
+ * package level and aggregated tests, populated by a single JPQL constructor
+ * expression so no entities enter the persistence context.
+ */
+public class TreatmentPlanView {
+    private final Long planId;
+    private final String status;
+    private final Long patientId;
+    private final String patientName;
+    private final Integer age;
+    private final String ailment;
+    private final String contactNumber;
+    private final String email;
+    private final String address;
+    private final String packageName;
+    private final String specialization;
+    private final Double cost;
+    private final Integer durationWeeks;
+    private final Integer packageLevel;
+    private final String specialistName;
+    private final String specialistLevel;
+    private final String specialistContactNumber;
+    private final String specialistEmail;
+    private final LocalDate treatmentStartDate;
+    private final LocalDate treatmentEndDate;
+    private final String tests;
+
+    public TreatmentPlanView(Long planId, String status, Long patientId, String patientName, Integer age,
+            String ailment, String contactNumber, String email, String address, String packageName,
+            String specialization, Double cost, Integer durationWeeks, Integer packageLevel, String specialistName,
+            String specialistLevel, String specialistContactNumber, String specialistEmail,
+            LocalDate treatmentStartDate, LocalDate treatmentEndDate, String tests) {
+        this.planId = planId;
+        this.status = status;
+        this.patientId = patientId;
+        this.patientName = patientName;
+        this.age = age;
+        this.ailment = ailment;
+        this.contactNumber = contactNumber;
+        this.email = email;
+        this.address = address;
+        this.packageName = packageName;
+        this.specialization = specialization;
+        this.cost = cost;
+        this.durationWeeks = durationWeeks;
+        this.packageLevel = packageLevel;
+        this.specialistName = specialistName;
+        this.specialistLevel = specialistLevel;
+        this.specialistContactNumber = specialistContactNumber;
+        this.specialistEmail = specialistEmail;
+        this.treatmentStartDate = treatmentStartDate;
+        this.treatmentEndDate = treatmentEndDate;
+        this.tests = tests;
+    }
+
+    public TreatmentPlanResponse toResponse(String specialistQualification, Integer specialistExperience) {
+        TreatmentPlanResponse response = new TreatmentPlanResponse();
+        response.setId(planId);
+        response.setStatus(status);
+        response.setPatient(new TreatmentPlanResponse.PatientInfo(patientId, patientName, age, ailment,
+                contactNumber, email, address));
+        response.setPackageDetails(new TreatmentPlanResponse.PackageInfo(packageName, specialization, testList(),
+                cost, durationWeeks, packageLevel));
+        response.setAssignedSpecialist(new TreatmentPlanResponse.SpecialistInfo(specialistName, specialistLevel,
+                specialization, specialistContactNumber, specialistEmail, specialistQualification,
+                specialistExperience));
+        response.setSchedule(new TreatmentPlanResponse.TreatmentSchedule(treatmentStartDate, treatmentEndDate,
+                durationWeeks, status));
+        return response;
+    }
+
+    private List<String> testList() {
+        return tests == null || tests.isEmpty() ? List.of() : Arrays.asList(tests.split(","));
+    }
+}
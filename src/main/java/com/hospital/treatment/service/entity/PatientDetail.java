@@ -7,13 +7,26 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "patient_details")
+// Composite indexes back the keyset listings: each filter combination seeks
+// straight to the cursor and reads the page in index order
+@Table(name = "patient_details", indexes = {
+        @Index(name = "idx_patient_status_id", columnList = "treatmentStatus, id"),
+        @Index(name = "idx_patient_package_id", columnList = "treatmentPackageName, id"),
+        @Index(name = "idx_patient_start_date_id", columnList = "treatmentStartDate, id"),
+        @Index(name = "idx_patient_status_start_date_id", columnList = "treatmentStatus, treatmentStartDate, id"),
+        @Index(name = "idx_patient_status_end_date", columnList = "treatmentStatus, treatmentEndDate"),
+        @Index(name = "idx_patient_ailment", columnList = "ailment"),
+        @Index(name = "idx_patient_name", columnList = "name") })
 public class PatientDetail {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence ids let Hibernate batch inserts (IDENTITY disables JDBC batching)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "patient_details_seq")
+    @SequenceGenerator(name = "patient_details_seq", sequenceName = "patient_details_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -10,14 +10,25 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 @Entity
-@Table(name = "treatment_plans")
+// One plan per patient; findByPatientId relies on it
+@Table(name = "treatment_plans", uniqueConstraints = @UniqueConstraint(name = "uk_treatment_plan_patient", columnNames = "patientId"), indexes = {
+        @Index(name = "idx_plan_specialization_status", columnList = "specialization, status"),
+        @Index(name = "idx_plan_status", columnList = "status"),
+        @Index(name = "idx_plan_specialist_name", columnList = "specialistName"),
+        @Index(name = "idx_plan_specialist_status", columnList = "specialistId, status"),
+        @Index(name = "idx_plan_package_name", columnList = "packageName") })
 public class TreatmentPlan {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence ids let Hibernate batch inserts (IDENTITY disables JDBC batching)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "treatment_plans_seq")
+    @SequenceGenerator(name = "treatment_plans_seq", sequenceName = "treatment_plans_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -27,13 +38,17 @@ public class TreatmentPlan {
     private String packageName;
 
     @ElementCollection
-    @CollectionTable(name = "treatment_tests", joinColumns = @JoinColumn(name = "treatment_plan_id"))
+    @CollectionTable(name = "treatment_tests", joinColumns = @JoinColumn(name = "treatment_plan_id"),
+            indexes = @Index(name = "idx_treatment_tests_plan", columnList = "treatment_plan_id"))
     @Column(name = "test_name")
     private List<String> testDetails;
 
     @Column(nullable = false)
     private Double cost;
 
+    @Column
+    private Long specialistId;
+
     @Column(nullable = false)
     private String specialistName;
 
@@ -121,6 +136,14 @@ public class TreatmentPlan {
         this.cost = cost;
     }
 
+    public Long getSpecialistId() {
+        return specialistId;
+    }
+
+    public void setSpecialistId(Long specialistId) {
+        this.specialistId = specialistId;
+    }
+
     public String getSpecialistName() {
         return specialistName;
     }
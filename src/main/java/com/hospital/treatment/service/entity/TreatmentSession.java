@@ -0,0 +1,111 @@
+package com.hospital.treatment.service.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "treatment_sessions", indexes = {
+        @Index(name = "idx_session_specialist_start", columnList = "specialistId, startTime"),
+        @Index(name = "idx_session_patient_start", columnList = "patientId, startTime") })
+public class TreatmentSession {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "treatment_sessions_seq")
+    @SequenceGenerator(name = "treatment_sessions_seq", sequenceName = "treatment_sessions_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long treatmentPlanId;
+
+    @Column(nullable = false)
+    private Long patientId;
+
+    @Column(nullable = false)
+    private Long specialistId;
+
+    @Column(nullable = false)
+    private String testName;
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+
+    public TreatmentSession() {
+    }
+
+    public TreatmentSession(Long treatmentPlanId, Long patientId, Long specialistId, String testName,
+            LocalDateTime startTime, LocalDateTime endTime) {
+        this.treatmentPlanId = treatmentPlanId;
+        this.patientId = patientId;
+        this.specialistId = specialistId;
+        this.testName = testName;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTreatmentPlanId() {
+        return treatmentPlanId;
+    }
+
+    public void setTreatmentPlanId(Long treatmentPlanId) {
+        this.treatmentPlanId = treatmentPlanId;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public Long getSpecialistId() {
+        return specialistId;
+    }
+
+    public void setSpecialistId(Long specialistId) {
+        this.specialistId = specialistId;
+    }
+
+    public String getTestName() {
+        return testName;
+    }
+
+    public void setTestName(String testName) {
+        this.testName = testName;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+}
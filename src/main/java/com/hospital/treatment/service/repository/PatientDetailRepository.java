@@ -1,14 +1,28 @@
 package com.hospital.treatment.service.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.hospital.treatment.service.entity.PatientDetail;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface PatientDetailRepository extends JpaRepository<PatientDetail, Long> {
+public interface PatientDetailRepository
+        extends JpaRepository<PatientDetail, Long>, PatientDetailRepositoryCustom {
     List<PatientDetail> findByTreatmentStatus(String treatmentStatus);
 
     List<PatientDetail> findByAilment(String ailment);
@@ -16,4 +30,30 @@ public interface PatientDetailRepository extends JpaRepository<PatientDetail, Lo
     List<PatientDetail> findByTreatmentPackageName(String treatmentPackageName);
 
     List<PatientDetail> findByName(String name);
+
+    // Keyset chunk of in-progress patients whose treatment has ended
+    @Query("select p.id from PatientDetail p where p.treatmentStatus = 'IN_PROGRESS' "
+            + "and p.treatmentEndDate < :today and p.id > :afterId order by p.id")
+    List<Long> findOverdueIds(@Param("today") LocalDate today, @Param("afterId") long afterId, Limit limit);
+
+    // Locks the rows in id order so concurrent bulk updates cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p.id, p.treatmentStatus from PatientDetail p where p.id in :ids order by p.id")
+    List<Object[]> lockStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update PatientDetail p set p.treatmentStatus = :status where p.id in :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    @Query("select p.treatmentStatus, count(p) from PatientDetail p group by p.treatmentStatus")
+    List<Object[]> countGroupedByTreatmentStatus();
+
+    @Query("select p.treatmentPackageName, count(p) from PatientDetail p group by p.treatmentPackageName")
+    List<Object[]> countGroupedByTreatmentPackageName();
+
+    // Rows of (id, name, ailment) for building the in-memory search index
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + TreatmentPlanRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("select p.id, p.name, p.ailment from PatientDetail p")
+    Stream<Object[]> streamSearchFields();
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.hospital.treatment.service.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.hospital.treatment.service.entity.PatientDetail;
+
+public interface PatientDetailRepositoryCustom {
+
+    /**
+     * Keyset page of patients ordered by id, or by (treatmentStartDate, id) when
+     * {@code byStartDate} is set, starting strictly after the given key. Null
+     * filters and a null key are left out of the query so each combination maps
+     * onto one of the composite indexes on patient_details.
+     */
+    List<PatientDetail> findPage(String status, String packageName, boolean byStartDate, LocalDate afterStartDate,
+            Long afterId, int limit);
+}
@@ -0,0 +1,48 @@
+package com.hospital.treatment.service.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.hospital.treatment.service.entity.PatientDetail;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+public class PatientDetailRepositoryImpl implements PatientDetailRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PatientDetail> findPage(String status, String packageName, boolean byStartDate,
+            LocalDate afterStartDate, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder("select p from PatientDetail p where 1 = 1");
+        if (status != null) {
+            jpql.append(" and p.treatmentStatus = :status");
+        }
+        if (packageName != null) {
+            jpql.append(" and p.treatmentPackageName = :packageName");
+        }
+        if (afterId != null) {
+            jpql.append(byStartDate ? " and (p.treatmentStartDate, p.id) > (:afterStartDate, :afterId)"
+                    : " and p.id > :afterId");
+        }
+        jpql.append(byStartDate ? " order by p.treatmentStartDate, p.id" : " order by p.id");
+
+        TypedQuery<PatientDetail> query = entityManager.createQuery(jpql.toString(), PatientDetail.class);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (packageName != null) {
+            query.setParameter("packageName", packageName);
+        }
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+            if (byStartDate) {
+                query.setParameter("afterStartDate", afterStartDate);
+            }
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
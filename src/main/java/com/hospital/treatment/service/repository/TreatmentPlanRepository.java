@@ -1,21 +1,76 @@
 package com.hospital.treatment.service.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.hospital.treatment.service.dto.TreatmentPlanView;
 import com.hospital.treatment.service.entity.TreatmentPlan;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface TreatmentPlanRepository extends JpaRepository<TreatmentPlan, Long> {
+    int EXPORT_FETCH_SIZE = 500;
+
     Optional<TreatmentPlan> findByPatientId(Long patientId);
 
+    // Plan, patient, package level and tests in one round-trip, projected straight into a DTO
+    @Query("""
+            select new com.hospital.treatment.service.dto.TreatmentPlanView(p.id, p.status, d.id, d.name, d.age,
+                d.ailment, d.contactNumber, d.email, d.address, p.packageName, p.specialization, p.cost,
+                p.durationWeeks, max(pkg.packageLevel), p.specialistName, p.specialistLevel,
+                p.specialistContactNumber, p.specialistEmail, p.treatmentStartDate, p.treatmentEndDate,
+                listagg(t, ',') within group (order by t))
+            from TreatmentPlan p
+            join PatientDetail d on d.id = p.patientId
+            left join p.testDetails t
+            left join TreatmentPackage pkg on pkg.name = p.packageName
+            where p.patientId = :patientId
+            group by p.id, p.status, d.id, d.name, d.age, d.ailment, d.contactNumber, d.email, d.address,
+                p.packageName, p.specialization, p.cost, p.durationWeeks, p.specialistName, p.specialistLevel,
+                p.specialistContactNumber, p.specialistEmail, p.treatmentStartDate, p.treatmentEndDate
+            """)
+    Optional<TreatmentPlanView> findViewByPatientId(@Param("patientId") Long patientId);
+
     List<TreatmentPlan> findBySpecializationAndStatus(String specialization, String status);
 
     List<TreatmentPlan> findBySpecialistName(String specialistName);
 
+    @Query("select p.specialistId, count(p) from TreatmentPlan p where p.specialistId is not null "
+            + "and p.status not in ('COMPLETED', 'CANCELLED') group by p.specialistId")
+    List<Object[]> countActivePlansBySpecialist();
+
+    @Query("select p.specialization, p.specialistId, p.specialistName, p.treatmentStartDate, p.treatmentEndDate "
+            + "from TreatmentPlan p where p.status not in ('COMPLETED', 'CANCELLED') and p.treatmentEndDate >= :day")
+    List<Object[]> findActiveSpansEndingOnOrAfter(@Param("day") LocalDate day);
+
+    // Server-side cursor over every plan and its patient; callers must close the
+    // stream and clear the persistence context as they go
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("select p, d from TreatmentPlan p join PatientDetail d on d.id = p.patientId order by p.id")
+    Stream<Object[]> streamAllWithPatient();
+
+    @Query("select p.patientId, p.specialistId, p.status, p.specialization, p.specialistName, "
+            + "p.treatmentStartDate, p.treatmentEndDate from TreatmentPlan p where p.patientId in :patientIds")
+    List<Object[]> findStatusesByPatientIdIn(@Param("patientIds") Collection<Long> patientIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update TreatmentPlan p set p.status = :status where p.patientId in :patientIds")
+    int updateStatusByPatientIdIn(@Param("patientIds") Collection<Long> patientIds, @Param("status") String status);
+
     List<TreatmentPlan> findByStatus(String status);
 
     List<TreatmentPlan> findByPackageName(String packageName);
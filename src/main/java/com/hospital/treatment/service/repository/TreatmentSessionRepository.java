@@ -0,0 +1,34 @@
+package com.hospital.treatment.service.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.hospital.treatment.service.entity.TreatmentSession;
+
+@Repository
+public interface TreatmentSessionRepository extends JpaRepository<TreatmentSession, Long> {
+
+    List<TreatmentSession> findBySpecialistIdAndStartTimeGreaterThanEqualAndStartTimeLessThanOrderByStartTime(
+            Long specialistId, LocalDateTime from, LocalDateTime to);
+
+    // Slots still occupied at or after the given time, for rebuilding the in-memory calendar
+    @Query("select s.specialistId, s.startTime, s.endTime from TreatmentSession s where s.endTime > :since")
+    List<Object[]> findBookedSlotsEndingAfter(@Param("since") LocalDateTime since);
+
+    @Query("select s.specialistId, s.startTime, s.endTime from TreatmentSession s "
+            + "where s.patientId in :patientIds and s.startTime > :after")
+    List<Object[]> findSlotsByPatientIdInStartingAfter(@Param("patientIds") Collection<Long> patientIds,
+            @Param("after") LocalDateTime after);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from TreatmentSession s where s.patientId in :patientIds and s.startTime > :after")
+    int deleteByPatientIdInStartingAfter(@Param("patientIds") Collection<Long> patientIds,
+            @Param("after") LocalDateTime after);
+}
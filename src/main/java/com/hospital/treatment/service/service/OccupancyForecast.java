@@ -0,0 +1,235 @@
+package com.hospital.treatment.service.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.hospital.config.Reloadable;
+import com.hospital.config.TransactionCallbacks;
+import com.hospital.treatment.service.entity.TreatmentPlan;
+import com.hospital.treatment.service.repository.TreatmentPlanRepository;
+
+/**
+ * Daily count of active treatment plans per specialization and per specialist.
+ * Each series is a difference array indexed by day from {@code origin}: a plan
+ * adds one on its start date and subtracts one the day after its end date, so
+ * a plan change is two array writes and a forecast is one prefix-sum walk over
+ * the requested days, whatever the number of plans. The origin is moved to
+ * today before every read or write, folding the days that passed into index 0,
+ * so a forecast never walks history. Dates more than {@link #MAX_SPAN_DAYS}
+ * ahead are not tracked.
+ */
+@Component
+public class OccupancyForecast implements Reloadable {
+
+    static final int MAX_SPAN_DAYS = 3660;
+    private static final int INITIAL_SPAN_DAYS = 366;
+
+    @Autowired
+    private TreatmentPlanRepository treatmentPlanRepository;
+
+    private LocalDate origin = LocalDate.now();
+    private Map<String, Series> bySpecialization = new TreeMap<>();
+    private Map<Long, Series> bySpecialist = new TreeMap<>();
+    private Map<Long, String[]> specialists = new HashMap<>();
+
+    @Override
+    public void reload() {
+        LocalDate today = LocalDate.now();
+        Map<String, Series> rebuiltSpecializations = new TreeMap<>();
+        Map<Long, Series> rebuiltSpecialists = new TreeMap<>();
+        Map<Long, String[]> rebuiltNames = new HashMap<>();
+        for (Object[] row : treatmentPlanRepository.findActiveSpansEndingOnOrAfter(today)) {
+            Span span = new Span((String) row[0], (Long) row[1], (String) row[2], (LocalDate) row[3],
+                    (LocalDate) row[4]);
+            apply(span, 1, today, rebuiltSpecializations, rebuiltSpecialists, rebuiltNames);
+        }
+        synchronized (this) {
+            origin = today;
+            bySpecialization = rebuiltSpecializations;
+            bySpecialist = rebuiltSpecialists;
+            specialists = rebuiltNames;
+        }
+    }
+
+    /**
+     * Counts a new plan once the surrounding transaction commits.
+     */
+    public void planCreated(TreatmentPlan plan) {
+        onStatusChange(Span.of(plan), null, plan.getStatus());
+    }
+
+    /**
+     * Adds or removes the plan's days once the surrounding transaction
+     * commits, if the change moves it into or out of an active status.
+     */
+    public void onStatusChange(Span span, String oldStatus, String newStatus) {
+        int delta = (SpecialistAssignmentEngine.isActive(newStatus) ? 1 : 0)
+                - (SpecialistAssignmentEngine.isActive(oldStatus) ? 1 : 0);
+        if (delta == 0) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                advance(LocalDate.now());
+                apply(span, delta, origin, bySpecialization, bySpecialist, specialists);
+            }
+        });
+    }
+
+    /**
+     * Active plans on each of the {@code days} days from today, per
+     * specialization and per specialist. A specialization narrows both lists,
+     * a specialist id only the per-specialist one; either may be null.
+     */
+    public synchronized Map<String, Object> forecast(int days, String specialization, Long specialistId) {
+        advance(LocalDate.now());
+        List<Map<String, Object>> specializationSeries = new ArrayList<>();
+        for (Map.Entry<String, Series> entry : bySpecialization.entrySet()) {
+            if (specialization != null && !specialization.equalsIgnoreCase(entry.getKey())) {
+                continue;
+            }
+            Map<String, Object> series = new LinkedHashMap<>();
+            series.put("specialization", entry.getKey());
+            putOccupancy(series, entry.getValue().occupancy(days));
+            specializationSeries.add(series);
+        }
+        List<Map<String, Object>> specialistSeries = new ArrayList<>();
+        for (Map.Entry<Long, Series> entry : bySpecialist.entrySet()) {
+            String[] specialist = specialists.get(entry.getKey());
+            if ((specialistId != null && !specialistId.equals(entry.getKey()))
+                    || (specialization != null && !specialization.equalsIgnoreCase(specialist[1]))) {
+                continue;
+            }
+            Map<String, Object> series = new LinkedHashMap<>();
+            series.put("specialistId", entry.getKey());
+            series.put("specialistName", specialist[0]);
+            series.put("specialization", specialist[1]);
+            putOccupancy(series, entry.getValue().occupancy(days));
+            specialistSeries.add(series);
+        }
+
+        Map<String, Object> forecast = new LinkedHashMap<>();
+        forecast.put("from", origin);
+        forecast.put("to", origin.plusDays(days));
+        forecast.put("days", days);
+        forecast.put("specializations", specializationSeries);
+        forecast.put("specialists", specialistSeries);
+        return forecast;
+    }
+
+    private static void putOccupancy(Map<String, Object> series, int[] occupancy) {
+        series.put("peak", Arrays.stream(occupancy).max().orElse(0));
+        series.put("occupancy", occupancy);
+    }
+
+    // Moves index 0 to today; the days in between are summed into it
+    void advance(LocalDate today) {
+        int elapsed = (int) (today.toEpochDay() - origin.toEpochDay());
+        if (elapsed <= 0) {
+            return;
+        }
+        bySpecialization.values().forEach(series -> series.shift(elapsed));
+        bySpecialist.values().forEach(series -> series.shift(elapsed));
+        origin = today;
+    }
+
+    private static void apply(Span span, int delta, LocalDate origin, Map<String, Series> bySpecialization,
+            Map<Long, Series> bySpecialist, Map<Long, String[]> specialists) {
+        if (span.start == null || span.end == null || span.end.isBefore(origin)) {
+            return;
+        }
+        long first = Math.max(0, span.start.toEpochDay() - origin.toEpochDay());
+        long afterLast = span.end.toEpochDay() - origin.toEpochDay() + 1;
+        if (first >= MAX_SPAN_DAYS || afterLast <= first) {
+            return;
+        }
+        int from = (int) first;
+        int to = (int) Math.min(afterLast, MAX_SPAN_DAYS);
+        if (span.specialization != null) {
+            bySpecialization.computeIfAbsent(span.specialization, key -> new Series()).add(from, to, delta);
+        }
+        if (span.specialistId != null) {
+            bySpecialist.computeIfAbsent(span.specialistId, key -> new Series()).add(from, to, delta);
+            specialists.put(span.specialistId, new String[] { span.specialistName, span.specialization });
+        }
+    }
+
+    /**
+     * The parts of a plan the forecast needs; built from an entity or from a
+     * projection row.
+     */
+    public static final class Span {
+        private final String specialization;
+        private final Long specialistId;
+        private final String specialistName;
+        private final LocalDate start;
+        private final LocalDate end;
+
+        public Span(String specialization, Long specialistId, String specialistName, LocalDate start,
+                LocalDate end) {
+            this.specialization = specialization;
+            this.specialistId = specialistId;
+            this.specialistName = specialistName;
+            this.start = start;
+            this.end = end;
+        }
+
+        public static Span of(TreatmentPlan plan) {
+            return new Span(plan.getSpecialization(), plan.getSpecialistId(), plan.getSpecialistName(),
+                    plan.getTreatmentStartDate(), plan.getTreatmentEndDate());
+        }
+    }
+
+    /**
+     * Difference array over days from the origin. An end past the array's
+     * reach is left open, so the plan counts up to the last tracked day.
+     */
+    private static final class Series {
+        private int[] diff = new int[INITIAL_SPAN_DAYS];
+
+        void add(int from, int to, int delta) {
+            if (to >= diff.length && diff.length < MAX_SPAN_DAYS) {
+                diff = Arrays.copyOf(diff, Math.min(MAX_SPAN_DAYS, Math.max(to + 1, diff.length * 2)));
+            }
+            diff[from] += delta;
+            if (to < diff.length) {
+                diff[to] -= delta;
+            }
+        }
+
+        void shift(int days) {
+            int carried = 0;
+            for (int i = 0; i <= days && i < diff.length; i++) {
+                carried += diff[i];
+            }
+            if (days >= diff.length) {
+                Arrays.fill(diff, 0);
+            } else {
+                System.arraycopy(diff, days, diff, 0, diff.length - days);
+                Arrays.fill(diff, diff.length - days, diff.length, 0);
+            }
+            diff[0] = carried;
+        }
+
+        int[] occupancy(int days) {
+            int[] occupancy = new int[days];
+            int running = 0;
+            for (int i = 0; i < days; i++) {
+                if (i < diff.length) {
+                    running += diff[i];
+                }
+                occupancy[i] = running;
+            }
+            return occupancy;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.hospital.treatment.service.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.treatment.offering.service.TreatmentPackageCatalog;
+import com.hospital.treatment.service.dto.PatientDetailRequest;
+import com.hospital.treatment.service.dto.TreatmentPlanResponse;
+
+/**
+ * Imports patient manifests (NDJSON or CSV) row by row. Rows are read
+ * incrementally from the upload, validated, and committed in fixed-size chunks;
+ * one NDJSON result line per row is written back after each chunk commits, so
+ * memory is bounded by the chunk size rather than the file size. A failing
+ * chunk is replayed one row per transaction so a bad row only fails itself.
+ */
+@Service
+public class PatientImportService {
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+
+    @Autowired
+    private TreatmentTimetableService timetableService;
+
+    @Autowired
+    private TreatmentPackageCatalog packageCatalog;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${treatment.import.chunk-size:200}")
+    private int chunkSize;
+
+    public Map<String, Object> importPatients(InputStream in, String format, OutputStream out) throws IOException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        String[] csvHeader = null;
+        if (FORMAT_CSV.equals(format)) {
+            String headerLine = reader.readLine();
+            csvHeader = headerLine == null ? new String[0] : parseCsvLine(headerLine);
+            for (int i = 0; i < csvHeader.length; i++) {
+                csvHeader[i] = csvHeader[i].trim().toLowerCase(Locale.ROOT);
+            }
+        }
+
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        int lineNumber = csvHeader == null ? 0 : 1;
+        int total = 0;
+        int created = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            ImportRow row = new ImportRow(lineNumber);
+            try {
+                row.request = csvHeader == null ? objectMapper.readValue(line, PatientDetailRequest.class)
+                        : fromCsv(csvHeader, parseCsvLine(line));
+                validate(row.request);
+            } catch (Exception e) {
+                row.fail(e);
+            }
+            chunk.add(row);
+            if (chunk.size() >= chunkSize) {
+                total += chunk.size();
+                created += writeChunk(transaction, chunk, out);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            total += chunk.size();
+            created += writeChunk(transaction, chunk, out);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("summary", true);
+        summary.put("total", total);
+        summary.put("created", created);
+        summary.put("failed", total - created);
+        out.write(objectMapper.writeValueAsBytes(summary));
+        out.write('\n');
+        out.flush();
+        return summary;
+    }
+
+    // Commits the valid rows of one chunk and streams a result line for each
+    // row; returns how many rows were created
+    private int writeChunk(TransactionTemplate transaction, List<ImportRow> chunk, OutputStream out)
+            throws IOException {
+        try {
+            transaction.executeWithoutResult(status -> chunk.stream().filter(ImportRow::isPending)
+                    .forEach(row -> row.result = timetableService.formulateTreatmentTimetable(row.request)));
+        } catch (RuntimeException chunkFailure) {
+            // Something slipped past validation; isolate it with one transaction per row
+            for (ImportRow row : chunk) {
+                if (row.error != null) {
+                    continue;
+                }
+                row.result = null;
+                try {
+                    row.result = transaction
+                            .execute(status -> timetableService.formulateTreatmentTimetable(row.request));
+                } catch (RuntimeException e) {
+                    row.fail(e);
+                }
+            }
+        }
+
+        int created = 0;
+        for (ImportRow row : chunk) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("line", row.lineNumber);
+            if (row.result != null) {
+                created++;
+                result.put("status", "created");
+                result.put("patientId", row.result.getPatient().getId());
+                result.put("treatmentPlanId", row.result.getId());
+                result.put("specialist", row.result.getAssignedSpecialist().getName());
+            } else {
+                result.put("status", "failed");
+                result.put("error", row.error);
+            }
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write('\n');
+        }
+        out.flush();
+        return created;
+    }
+
+    private void validate(PatientDetailRequest request) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (request.getAge() == null || request.getAge() <= 0) {
+            throw new IllegalArgumentException("age must be a positive number");
+        }
+        if (request.getAilment() == null || request.getAilment().isBlank()) {
+            throw new IllegalArgumentException("ailment is required");
+        }
+        if (request.getTreatmentStartDate() == null) {
+            throw new IllegalArgumentException("treatmentStartDate is required");
+        }
+        if (packageCatalog.findByName(request.getPackageName()) == null) {
+            throw new IllegalArgumentException("Unknown package: " + request.getPackageName());
+        }
+    }
+
+    private static PatientDetailRequest fromCsv(String[] header, String[] values) {
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.length && i < values.length; i++) {
+            String value = values[i].trim();
+            if (!value.isEmpty()) {
+                fields.put(header[i], value);
+            }
+        }
+        PatientDetailRequest request = new PatientDetailRequest();
+        request.setName(fields.get("name"));
+        request.setAilment(fields.get("ailment"));
+        request.setPackageName(fields.get("packagename"));
+        request.setContactNumber(fields.get("contactnumber"));
+        request.setEmail(fields.get("email"));
+        request.setAddress(fields.get("address"));
+        if (fields.containsKey("age")) {
+            request.setAge(Integer.valueOf(fields.get("age")));
+        }
+        if (fields.containsKey("treatmentstartdate")) {
+            request.setTreatmentStartDate(LocalDate.parse(fields.get("treatmentstartdate")));
+        }
+        return request;
+    }
+
+    // RFC 4180 fields on a single line: quoted values may contain commas and
+    // doubled quotes, but not line breaks
+    static String[] parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(current.toString());
+        return values.toArray(new String[0]);
+    }
+
+    private static final class ImportRow {
+        private final int lineNumber;
+        private PatientDetailRequest request;
+        private TreatmentPlanResponse result;
+        private String error;
+
+        private ImportRow(int lineNumber) {
+            this.lineNumber = lineNumber;
+        }
+
+        private boolean isPending() {
+            return error == null;
+        }
+
+        private void fail(Exception e) {
+            if (e instanceof JsonProcessingException) {
+                error = ((JsonProcessingException) e).getOriginalMessage();
+                return;
+            }
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+    }
+}
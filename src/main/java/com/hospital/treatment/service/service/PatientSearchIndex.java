@@ -0,0 +1,363 @@
+package com.hospital.treatment.service.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.hospital.config.Reloadable;
+import com.hospital.config.TransactionCallbacks;
+import com.hospital.treatment.service.repository.PatientDetailRepository;
+
+/**
+ * In-memory trigram index over patient names and ailments. Each field keeps a
+ * dictionary of distinct normalized values (terms); every trigram maps to a
+ * sorted int posting list of the terms containing it, and every term to the
+ * patient ids carrying it. A query only touches the posting lists of its own
+ * trigrams, so lookups cost in proportion to the matches rather than the
+ * number of patients. Candidates need most, not all, query trigrams, which
+ * tolerates a typo or two; results are ranked by trigram overlap with a bonus
+ * for exact substring matches. Built before the web server starts taking
+ * requests.
+ */
+@Component
+public class PatientSearchIndex implements Reloadable {
+
+    public static final String FIELD_NAME = "name";
+    public static final String FIELD_AILMENT = "ailment";
+    public static final String FIELD_ANY = "any";
+
+    // Trigrams are over space, a-z and 0-9, so every one has a dense code below 37^3
+    private static final int RADIX = 37;
+    private static final int GRAM_SPACE = RADIX * RADIX * RADIX;
+
+    @Autowired
+    private PatientDetailRepository patientRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private FieldIndex names = new FieldIndex();
+    private FieldIndex ailments = new FieldIndex();
+
+    @Override
+    public void reload() {
+        FieldIndex rebuiltNames = new FieldIndex();
+        FieldIndex rebuiltAilments = new FieldIndex();
+        try (Stream<Object[]> rows = patientRepository.streamSearchFields()) {
+            rows.forEach(row -> {
+                int doc = Math.toIntExact((Long) row[0]);
+                rebuiltNames.put(doc, (String) row[1]);
+                rebuiltAilments.put(doc, (String) row[2]);
+            });
+        }
+        lock.writeLock().lock();
+        try {
+            names = rebuiltNames;
+            ailments = rebuiltAilments;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a created or changed patient once the surrounding transaction
+     * commits, or immediately outside a transaction.
+     */
+    public void index(Long patientId, String name, String ailment) {
+        int doc = Math.toIntExact(patientId);
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                names.put(doc, name);
+                ailments.put(doc, ailment);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Best {@code limit} patients for {@code query} in the given field (name,
+     * ailment or any), highest score first.
+     */
+    public List<Hit> search(String query, String field, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        int[] grams = queryGrams(normalized);
+        int letters = normalized.replace(" ", "").length();
+        int typos = letters <= 3 ? 0 : letters <= 7 ? 1 : 2;
+        // One edit changes at most three trigrams; at least half must still match
+        int required = Math.max((grams.length + 1) / 2, grams.length - 3 * typos);
+
+        Map<Integer, Hit> hits = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            if (!FIELD_AILMENT.equals(field)) {
+                names.collect(normalized, grams, required, limit, FIELD_NAME, hits);
+            }
+            if (!FIELD_NAME.equals(field)) {
+                ailments.collect(normalized, grams, required, limit, FIELD_AILMENT, hits);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Hit> ranked = new ArrayList<>(hits.values());
+        ranked.sort((a, b) -> a.score != b.score ? Double.compare(b.score, a.score)
+                : Long.compare(a.patientId, b.patientId));
+        return ranked.size() > limit ? ranked.subList(0, limit) : ranked;
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(value, Normalizer.Form.NFD).replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        return folded.replaceAll("[^a-z0-9]+", " ").trim();
+    }
+
+    // Every trigram of every word padded as "  word ", so word starts and ends count
+    private static int[] termGrams(String term) {
+        IntList grams = new IntList();
+        for (String word : term.split(" ")) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(gram(padded, i));
+            }
+        }
+        return grams.sortedDistinct();
+    }
+
+    // Unpadded trigrams, so a query matches in the middle of a word; words
+    // shorter than three letters fall back to word-start trigrams
+    private static int[] queryGrams(String query) {
+        IntList grams = new IntList();
+        for (String word : query.split(" ")) {
+            if (word.length() >= 3) {
+                for (int i = 0; i + 3 <= word.length(); i++) {
+                    grams.add(gram(word, i));
+                }
+            } else {
+                String padded = "  " + word;
+                for (int i = 0; i + 3 <= padded.length(); i++) {
+                    grams.add(gram(padded, i));
+                }
+            }
+        }
+        return grams.sortedDistinct();
+    }
+
+    private static int gram(String s, int at) {
+        return (code(s.charAt(at)) * RADIX + code(s.charAt(at + 1))) * RADIX + code(s.charAt(at + 2));
+    }
+
+    private static int code(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 1;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 27;
+        }
+        return 0;
+    }
+
+    public static final class Hit {
+        private final long patientId;
+        private final double score;
+        private final String matchedField;
+
+        Hit(long patientId, double score, String matchedField) {
+            this.patientId = patientId;
+            this.score = score;
+            this.matchedField = matchedField;
+        }
+
+        public long getPatientId() {
+            return patientId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public String getMatchedField() {
+            return matchedField;
+        }
+    }
+
+    /**
+     * One searchable field. Term and patient ids are ints; a patient that
+     * changes term is appended to the new term's list and its stale entry in
+     * the old list is skipped on read, because docTerm no longer points there.
+     */
+    private static final class FieldIndex {
+        private final Map<String, Integer> termIds = new HashMap<>();
+        private final List<String> terms = new ArrayList<>();
+        private final IntList termGramCounts = new IntList();
+        private final List<IntList> termDocs = new ArrayList<>();
+        private final IntList[] gramTerms = new IntList[GRAM_SPACE];
+        // Patient id -> term id + 1, 0 when not indexed
+        private int[] docTerm = new int[1024];
+
+        void put(int doc, String value) {
+            String term = normalize(value);
+            if (doc >= docTerm.length) {
+                docTerm = Arrays.copyOf(docTerm, Math.max(doc + 1, docTerm.length * 2));
+            }
+            if (term.isEmpty()) {
+                docTerm[doc] = 0;
+                return;
+            }
+            int termId = termIds.computeIfAbsent(term, this::addTerm);
+            if (docTerm[doc] != termId + 1) {
+                docTerm[doc] = termId + 1;
+                termDocs.get(termId).add(doc);
+            }
+        }
+
+        private int addTerm(String term) {
+            int termId = terms.size();
+            terms.add(term);
+            termDocs.add(new IntList());
+            int[] grams = termGrams(term);
+            termGramCounts.add(grams.length);
+            for (int gram : grams) {
+                if (gramTerms[gram] == null) {
+                    gramTerms[gram] = new IntList();
+                }
+                gramTerms[gram].add(termId);
+            }
+            return termId;
+        }
+
+        void collect(String query, int[] grams, int required, int limit, String field, Map<Integer, Hit> hits) {
+            IntList[] lists = new IntList[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                lists[i] = gramTerms[grams[i]] != null ? gramTerms[grams[i]] : IntList.EMPTY;
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            // A term holding `required` of the query's trigrams must appear in
+            // at least one of the shortest (n - required + 1) lists; the longer
+            // lists are only probed for those candidates
+            int scanned = lists.length - required + 1;
+            IntList merged = new IntList();
+            for (int i = 0; i < scanned; i++) {
+                merged.addAll(lists[i]);
+            }
+            int[] candidates = merged.sorted();
+            int[] counts = new int[candidates.length];
+            int distinct = 0;
+            for (int i = 0; i < candidates.length; i++) {
+                if (distinct > 0 && candidates[distinct - 1] == candidates[i]) {
+                    counts[distinct - 1]++;
+                } else {
+                    candidates[distinct] = candidates[i];
+                    counts[distinct++] = 1;
+                }
+            }
+            for (int i = scanned; i < lists.length; i++) {
+                int remaining = lists.length - i;
+                for (int c = 0; c < distinct; c++) {
+                    if (counts[c] < required && counts[c] + remaining >= required
+                            && lists[i].contains(candidates[c])) {
+                        counts[c]++;
+                    }
+                }
+            }
+
+            List<double[]> matches = new ArrayList<>();
+            for (int c = 0; c < distinct; c++) {
+                if (counts[c] >= required) {
+                    int termId = candidates[c];
+                    double overlap = (double) counts[c]
+                            / (grams.length + termGramCounts.get(termId) - counts[c]);
+                    double score = terms.get(termId).contains(query) ? 1 + overlap : overlap;
+                    matches.add(new double[] { score, termId });
+                }
+            }
+            matches.sort((a, b) -> Double.compare(b[0], a[0]));
+
+            int taken = 0;
+            for (double[] match : matches) {
+                int termId = (int) match[1];
+                IntList docs = termDocs.get(termId);
+                for (int i = 0; i < docs.size && taken < limit; i++) {
+                    int doc = docs.get(i);
+                    if (docTerm[doc] != termId + 1) {
+                        continue;
+                    }
+                    Hit existing = hits.get(doc);
+                    if (existing == null || existing.score < match[0]) {
+                        hits.put(doc, new Hit(doc, match[0], field));
+                        taken++;
+                    }
+                }
+                if (taken >= limit) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Growable int array. Term posting lists are appended in id order, so they
+     * stay sorted and can be binary searched.
+     */
+    private static final class IntList {
+        static final IntList EMPTY = new IntList();
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(IntList other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + other.size, values.length * 2));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        int[] sorted() {
+            int[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        int[] sortedDistinct() {
+            int[] copy = sorted();
+            int distinct = 0;
+            for (int i = 0; i < copy.length; i++) {
+                if (distinct == 0 || copy[distinct - 1] != copy[i]) {
+                    copy[distinct++] = copy[i];
+                }
+            }
+            return Arrays.copyOf(copy, distinct);
+        }
+    }
+}
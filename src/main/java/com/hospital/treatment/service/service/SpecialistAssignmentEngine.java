@@ -0,0 +1,237 @@
+package com.hospital.treatment.service.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.hospital.config.Reloadable;
+import com.hospital.config.TransactionCallbacks;
+import com.hospital.treatment.offering.entity.Specialist;
+import com.hospital.treatment.offering.repository.SpecialistRepository;
+import com.hospital.treatment.offering.service.SpecialistChangedEvent;
+import com.hospital.treatment.service.repository.TreatmentPlanRepository;
+
+/**
+ * Assigns each new plan to the least-loaded available specialist for its
+ * (specialization, level). Specialists are held in immutable per-bucket arrays
+ * that are swapped on change; load is tracked with one atomic counter per
+ * specialist, so concurrent assignments only contend when they pick the same
+ * specialist. Loaded before the web server starts taking requests.
+ */
+@Component
+public class SpecialistAssignmentEngine implements Reloadable {
+
+    @Autowired
+    private SpecialistRepository specialistRepository;
+
+    @Autowired
+    private TreatmentPlanRepository treatmentPlanRepository;
+
+    // Active plan count per specialist id; survives bucket rebuilds
+    private final Map<Long, AtomicInteger> activePlans = new ConcurrentHashMap<>();
+
+    private volatile Map<String, Candidate[]> buckets = Map.of();
+
+    // Current specialist per id, used to rebuild buckets incrementally
+    private final Map<Long, Candidate> candidates = new HashMap<>();
+
+    @Override
+    public synchronized void reload() {
+        candidates.clear();
+        for (Specialist specialist : specialistRepository.findAll()) {
+            candidates.put(specialist.getId(), new Candidate(specialist, load(specialist.getId())));
+        }
+        activePlans.values().forEach(counter -> counter.set(0));
+        for (Object[] row : treatmentPlanRepository.countActivePlansBySpecialist()) {
+            load((Long) row[0]).set(((Number) row[1]).intValue());
+        }
+        rebuildBuckets();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSpecialistChanged(SpecialistChangedEvent event) {
+        if (event.isDeleted()) {
+            candidates.remove(event.getSpecialistId());
+        } else {
+            Specialist specialist = event.getSpecialist();
+            candidates.put(specialist.getId(), new Candidate(specialist, load(specialist.getId())));
+        }
+        rebuildBuckets();
+    }
+
+    /**
+     * Picks the least-loaded available specialist and reserves a slot for the
+     * plan. If the surrounding transaction rolls back the slot is released.
+     */
+    public Assignment assign(String specialization, String level) {
+        return assign(specialization, level, Set.of());
+    }
+
+    /**
+     * As {@link #assign(String, String)}, skipping the given specialists.
+     */
+    public Assignment assign(String specialization, String level, Set<Long> excluded) {
+        Candidate[] bucket = buckets.get(bucketKey(specialization, level));
+        if (bucket == null || bucket.length == 0) {
+            throw new RuntimeException("No specialist available for specialization: " + specialization);
+        }
+        while (true) {
+            // Random start so ties spread across specialists instead of piling onto the first
+            int start = ThreadLocalRandom.current().nextInt(bucket.length);
+            Candidate best = null;
+            int bestLoad = Integer.MAX_VALUE;
+            for (int i = 0; i < bucket.length; i++) {
+                Candidate candidate = bucket[(start + i) % bucket.length];
+                if (excluded.contains(candidate.assignment.getId())) {
+                    continue;
+                }
+                int current = candidate.load.get();
+                if (current < bestLoad) {
+                    best = candidate;
+                    bestLoad = current;
+                }
+            }
+            if (best == null) {
+                throw new RuntimeException("No specialist available for specialization: " + specialization);
+            }
+            // Only claim the pick if its load is still what the scan saw; otherwise
+            // a concurrent assignment got there first and the scan is redone
+            if (best.load.compareAndSet(bestLoad, bestLoad + 1)) {
+                compensateOnRollback(best.assignment.getId(), -1);
+                return best.assignment;
+            }
+        }
+    }
+
+    /**
+     * Gives back a slot reserved by {@link #assign} when the plan goes to
+     * another specialist instead; restored if the transaction rolls back, so it
+     * cancels out the rollback compensation of the original assignment.
+     */
+    public void release(Long specialistId) {
+        load(specialistId).decrementAndGet();
+        compensateOnRollback(specialistId, 1);
+    }
+
+    /** Keeps load counters in step with a plan moving between active and closed statuses. */
+    public void onPlanStatusChange(Long specialistId, String oldStatus, String newStatus) {
+        if (specialistId == null) {
+            return;
+        }
+        int delta = (isActive(newStatus) ? 1 : 0) - (isActive(oldStatus) ? 1 : 0);
+        if (delta != 0) {
+            load(specialistId).addAndGet(delta);
+            compensateOnRollback(specialistId, -delta);
+        }
+    }
+
+    public int activePlans(Long specialistId) {
+        AtomicInteger counter = activePlans.get(specialistId);
+        return counter == null ? 0 : counter.get();
+    }
+
+    public static boolean isActive(String status) {
+        return status != null && !"COMPLETED".equals(status) && !"CANCELLED".equals(status);
+    }
+
+    private void compensateOnRollback(Long specialistId, int delta) {
+        TransactionCallbacks.unlessCommitted(() -> load(specialistId).addAndGet(delta));
+    }
+
+    private AtomicInteger load(Long specialistId) {
+        return activePlans.computeIfAbsent(specialistId, id -> new AtomicInteger());
+    }
+
+    private void rebuildBuckets() {
+        Map<String, List<Candidate>> grouped = new HashMap<>();
+        for (Candidate candidate : candidates.values()) {
+            if (candidate.available) {
+                grouped.computeIfAbsent(bucketKey(candidate.assignment.getSpecialization(),
+                        candidate.assignment.getLevel()), k -> new ArrayList<>()).add(candidate);
+            }
+        }
+        Map<String, Candidate[]> rebuilt = new HashMap<>();
+        grouped.forEach((key, list) -> rebuilt.put(key, list.toArray(new Candidate[0])));
+        buckets = Map.copyOf(rebuilt);
+    }
+
+    private static String bucketKey(String specialization, String level) {
+        return specialization.trim().toLowerCase(Locale.ROOT) + '|' + level.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static final class Candidate {
+        final Assignment assignment;
+        final boolean available;
+        final AtomicInteger load;
+
+        Candidate(Specialist specialist, AtomicInteger load) {
+            this.assignment = new Assignment(specialist);
+            this.available = Boolean.TRUE.equals(specialist.getAvailable());
+            this.load = load;
+        }
+    }
+
+    public static final class Assignment {
+        private final Long id;
+        private final String name;
+        private final String level;
+        private final String specialization;
+        private final String contactNumber;
+        private final String email;
+        private final String qualification;
+        private final Integer experience;
+
+        Assignment(Specialist specialist) {
+            this.id = specialist.getId();
+            this.name = specialist.getName();
+            this.level = specialist.getLevel();
+            this.specialization = specialist.getSpecialization();
+            this.contactNumber = specialist.getContactNumber();
+            this.email = specialist.getEmail();
+            this.qualification = specialist.getQualification();
+            this.experience = specialist.getExperience();
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getLevel() {
+            return level;
+        }
+
+        public String getSpecialization() {
+            return specialization;
+        }
+
+        public String getContactNumber() {
+            return contactNumber;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getQualification() {
+            return qualification;
+        }
+
+        public Integer getExperience() {
+            return experience;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.hospital.treatment.service.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.hospital.config.Reloadable;
+import com.hospital.config.TransactionCallbacks;
+import com.hospital.treatment.service.entity.TreatmentPlan;
+import com.hospital.treatment.service.entity.TreatmentSession;
+import com.hospital.treatment.service.repository.TreatmentSessionRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory view of every specialist's booked session slots, used to place new
+ * sessions without conflicts. Each specialist's bookings never overlap, so they
+ * are kept as disjoint intervals in a sorted map keyed by start minute: a
+ * conflict check is one floor and one ceiling lookup, O(log n), and the free-slot
+ * search walks forward from there only across the slots it has to skip. Loaded
+ * before the web server starts taking requests.
+ */
+@Component
+public class SpecialistCalendar implements Reloadable {
+
+    private static final List<DayOfWeek> WORKING_DAYS = List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY,
+            DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY);
+
+    @Autowired
+    private TreatmentSessionRepository sessionRepository;
+
+    @Value("${treatment.sessions.day-start:09:00}")
+    private String dayStartValue;
+
+    @Value("${treatment.sessions.day-end:17:00}")
+    private String dayEndValue;
+
+    @Value("${treatment.sessions.duration-minutes:30}")
+    private int durationMinutes;
+
+    private LocalTime dayStart;
+    private LocalTime dayEnd;
+
+    private final Map<Long, Slots> calendars = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        dayStart = LocalTime.parse(dayStartValue);
+        dayEnd = LocalTime.parse(dayEndValue);
+    }
+
+    @Override
+    public void reload() {
+        calendars.clear();
+        LocalDateTime since = LocalDate.now().atStartOfDay();
+        for (Object[] row : sessionRepository.findBookedSlotsEndingAfter(since)) {
+            slots((Long) row[0]).reserve(minute((LocalDateTime) row[1]), minute((LocalDateTime) row[2]));
+        }
+    }
+
+    /**
+     * Expands the plan's tests into one session per test per week between its
+     * start and end dates, each in the specialist's first free slot of that
+     * week. Slots are reserved immediately and released again if the
+     * surrounding transaction rolls back. Returns null, with nothing left
+     * reserved, if some week has no room, so the caller can hand the plan to
+     * another specialist.
+     */
+    public List<TreatmentSession> book(TreatmentPlan plan) {
+        Slots slots = slots(plan.getSpecialistId());
+        List<TreatmentSession> sessions = new ArrayList<>();
+        List<long[]> reserved = new ArrayList<>();
+        LocalDate end = plan.getTreatmentEndDate();
+        for (LocalDate week = plan.getTreatmentStartDate(); week.isBefore(end); week = week.plusWeeks(1)) {
+            LocalDate weekEnd = week.plusWeeks(1).isAfter(end) ? end : week.plusWeeks(1);
+            for (String test : plan.getTestDetails()) {
+                long start = reserveFirstFree(slots, week, weekEnd);
+                if (start < 0) {
+                    reserved.forEach(slot -> slots.release(slot[0]));
+                    return null;
+                }
+                reserved.add(new long[] { start, start + durationMinutes });
+                sessions.add(new TreatmentSession(plan.getId(), plan.getPatientId(), plan.getSpecialistId(), test,
+                        time(start), time(start + durationMinutes)));
+            }
+        }
+        releaseOnRollback(slots, reserved);
+        return sessions;
+    }
+
+    /**
+     * Frees slots (rows of specialistId, startTime, endTime) once the
+     * transaction that deleted their sessions commits.
+     */
+    public void releaseAfterCommit(List<Object[]> sessionSlots) {
+        if (sessionSlots.isEmpty()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> sessionSlots
+                .forEach(row -> slots((Long) row[0]).release(minute((LocalDateTime) row[1]))));
+    }
+
+    /**
+     * Free working-hour slots of the session length in [from, to).
+     */
+    public List<LocalDateTime[]> freeSlots(Long specialistId, LocalDate from, LocalDate to) {
+        Slots slots = slots(specialistId);
+        List<LocalDateTime[]> free = new ArrayList<>();
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            if (!WORKING_DAYS.contains(day.getDayOfWeek())) {
+                continue;
+            }
+            long open = minute(day.atTime(dayStart));
+            long close = minute(day.atTime(dayEnd));
+            long start = slots.nextFree(open, durationMinutes);
+            while (start + durationMinutes <= close) {
+                free.add(new LocalDateTime[] { time(start), time(start + durationMinutes) });
+                start = slots.nextFree(start + durationMinutes, durationMinutes);
+            }
+        }
+        return free;
+    }
+
+    private long reserveFirstFree(Slots slots, LocalDate from, LocalDate to) {
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            if (!WORKING_DAYS.contains(day.getDayOfWeek())) {
+                continue;
+            }
+            long start = slots.reserveFirstFree(minute(day.atTime(dayStart)), minute(day.atTime(dayEnd)),
+                    durationMinutes);
+            if (start >= 0) {
+                return start;
+            }
+        }
+        return -1;
+    }
+
+    private void releaseOnRollback(Slots slots, List<long[]> reserved) {
+        if (!reserved.isEmpty()) {
+            TransactionCallbacks.unlessCommitted(() -> reserved.forEach(slot -> slots.release(slot[0])));
+        }
+    }
+
+    private Slots slots(Long specialistId) {
+        return calendars.computeIfAbsent(specialistId, id -> new Slots());
+    }
+
+    private static long minute(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static LocalDateTime time(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Disjoint booked intervals [start, end) in epoch minutes, keyed by start.
+     */
+    static final class Slots {
+        private final TreeMap<Long, Long> booked = new TreeMap<>();
+
+        synchronized void reserve(long start, long end) {
+            booked.put(start, end);
+        }
+
+        synchronized void release(long start) {
+            booked.remove(start);
+        }
+
+        synchronized long reserveFirstFree(long open, long close, int duration) {
+            long start = nextFree(open, duration);
+            if (start + duration > close) {
+                return -1;
+            }
+            booked.put(start, start + duration);
+            return start;
+        }
+
+        // Earliest start >= from where [start, start + duration) overlaps nothing
+        synchronized long nextFree(long from, int duration) {
+            long candidate = from;
+            Map.Entry<Long, Long> before = booked.floorEntry(candidate);
+            if (before != null && before.getValue() > candidate) {
+                candidate = before.getValue();
+            }
+            Map.Entry<Long, Long> next = booked.ceilingEntry(candidate);
+            while (next != null && next.getKey() < candidate + duration) {
+                candidate = next.getValue();
+                next = booked.ceilingEntry(candidate);
+            }
+            return candidate;
+        }
+    }
+}
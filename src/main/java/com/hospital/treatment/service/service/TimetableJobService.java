@@ -0,0 +1,222 @@
+package com.hospital.treatment.service.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hospital.treatment.service.dto.PatientDetailRequest;
+import com.hospital.treatment.service.dto.TreatmentPlanResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs timetable batches off the request thread. Submitting returns a job id
+ * at once; the batch goes through {@link TreatmentTimetableService} on a small
+ * fixed pool behind a bounded queue, so long planning work cannot exhaust the
+ * servlet workers and a full queue is refused up front rather than piling up.
+ * Finished jobs are kept for polling until the retention period lapses. The
+ * job table is weighed as one per job plus the plans in its result, so
+ * {@code max-tracked-plans} bounds the response graphs held on the heap.
+ */
+@Service
+public class TimetableJobService {
+
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_SUCCEEDED = "SUCCEEDED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Autowired
+    private TreatmentTimetableService timetableService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${treatment.jobs.workers:4}")
+    private int workers;
+
+    @Value("${treatment.jobs.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${treatment.jobs.max-tracked-plans:50000}")
+    private long maxTrackedPlans;
+
+    @Value("${treatment.jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    private ThreadPoolExecutor executor;
+    private Cache<String, Job> jobs;
+    private Timer queueWait;
+    private Timer runDuration;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+                    Thread thread = new Thread(task, "timetable-job-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        jobs = Caffeine.newBuilder().maximumWeight(maxTrackedPlans)
+                .weigher((String id, Job job) -> 1 + (job.result != null ? job.result.size() : 0))
+                .expireAfterWrite(retentionMinutes, TimeUnit.MINUTES).build();
+
+        Gauge.builder("timetable.jobs.queued", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("timetable.jobs.running", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        queueWait = Timer.builder("timetable.jobs.wait").register(meterRegistry);
+        runDuration = Timer.builder("timetable.jobs.duration").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public Map<String, Object> submit(List<PatientDetailRequest> requests) {
+        // Oversized batches are refused here rather than failing later on a worker
+        timetableService.checkBatchSize(requests);
+        Job job = new Job(UUID.randomUUID().toString(), requests.size());
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, requests));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.id);
+            outcomeCounter("rejected").increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Timetable job queue is full, retry later");
+        }
+        return job.toMap();
+    }
+
+    public Map<String, Object> getJob(String jobId) {
+        return find(jobId).toMap();
+    }
+
+    /**
+     * Streams the job's state as server-sent "status" events: the current state
+     * at once, again when it starts running, and a final one when it finishes.
+     */
+    public SseEmitter subscribe(String jobId) {
+        Job job = find(jobId);
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(retentionMinutes));
+        boolean wasStarted = job.started.isDone();
+        boolean wasFinished = job.finished.isDone();
+        send(emitter, job);
+        if (wasFinished) {
+            emitter.complete();
+            return emitter;
+        }
+        if (!wasStarted) {
+            job.started.thenRun(() -> send(emitter, job));
+        }
+        job.finished.thenRun(() -> {
+            send(emitter, job);
+            emitter.complete();
+        });
+        return emitter;
+    }
+
+    private void run(Job job, List<PatientDetailRequest> requests) {
+        job.startedAt = LocalDateTime.now();
+        job.status = STATUS_RUNNING;
+        queueWait.record(System.nanoTime() - job.submittedNanos, TimeUnit.NANOSECONDS);
+        job.started.complete(null);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            job.result = timetableService.formulateTreatmentTimetables(requests);
+            job.status = STATUS_SUCCEEDED;
+            outcomeCounter("succeeded").increment();
+        } catch (RuntimeException e) {
+            job.error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            job.status = STATUS_FAILED;
+            outcomeCounter("failed").increment();
+        } finally {
+            sample.stop(runDuration);
+            job.finishedAt = LocalDateTime.now();
+            // Writing the job again makes the cache re-weigh it with its result
+            jobs.asMap().replace(job.id, job, job);
+            job.finished.complete(null);
+        }
+    }
+
+    private Job find(String jobId) {
+        Job job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Timetable job not found: " + jobId);
+        }
+        return job;
+    }
+
+    private static void send(SseEmitter emitter, Job job) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(job.toMap()));
+        } catch (IOException | IllegalStateException e) {
+            // Subscriber went away; polling still works
+            emitter.completeWithError(e);
+        }
+    }
+
+    private Counter outcomeCounter(String outcome) {
+        return Counter.builder("timetable.jobs").tag("outcome", outcome).register(meterRegistry);
+    }
+
+    private static final class Job {
+        final String id;
+        final int size;
+        final long submittedNanos = System.nanoTime();
+        final LocalDateTime submittedAt = LocalDateTime.now();
+        final CompletableFuture<Void> started = new CompletableFuture<>();
+        final CompletableFuture<Void> finished = new CompletableFuture<>();
+        volatile String status = STATUS_QUEUED;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+        volatile List<TreatmentPlanResponse> result;
+        volatile String error;
+
+        Job(String id, int size) {
+            this.id = id;
+            this.size = size;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("jobId", id);
+            map.put("status", status);
+            map.put("patients", size);
+            map.put("submittedAt", submittedAt);
+            map.put("startedAt", startedAt);
+            map.put("finishedAt", finishedAt);
+            if (result != null) {
+                map.put("result", result);
+            }
+            if (error != null) {
+                map.put("error", error);
+            }
+            return map;
+        }
+    }
+}
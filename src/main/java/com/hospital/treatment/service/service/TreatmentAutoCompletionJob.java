@@ -0,0 +1,121 @@
+package com.hospital.treatment.service.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.hospital.scheduling.SchedulerLeaseManager;
+import com.hospital.treatment.service.repository.PatientDetailRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Marks treatments whose end date has passed as COMPLETED so the in-progress
+ * listings only hold genuinely active patients. Overdue patients are walked by
+ * id in bounded chunks, each applied through the bulk status transition in its
+ * own transaction. A database lease keeps the job to one node at a time and is
+ * extended between chunks. It runs on the shared scheduler pool and stops
+ * between chunks when the scheduler shuts down.
+ */
+@Component
+public class TreatmentAutoCompletionJob {
+
+    static final String LEASE_NAME = "treatment-auto-completion";
+
+    @Autowired
+    private PatientDetailRepository patientRepository;
+
+    @Autowired
+    private TreatmentTimetableService timetableService;
+
+    @Autowired
+    private SchedulerLeaseManager leaseManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${treatment.auto-complete.enabled:true}")
+    private boolean enabled;
+
+    @Value("${treatment.auto-complete.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${treatment.auto-complete.lease-ms:600000}")
+    private long leaseMillis;
+
+    private Counter completedPatients;
+    private Counter completedChunks;
+    private Timer runDuration;
+
+    @PostConstruct
+    void init() {
+        completedPatients = Counter.builder("treatment.autocomplete.patients").register(meterRegistry);
+        completedChunks = Counter.builder("treatment.autocomplete.chunks").register(meterRegistry);
+        runDuration = Timer.builder("treatment.autocomplete.duration").register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${treatment.auto-complete.initial-delay-ms:60000}", fixedDelayString = "${treatment.auto-complete.interval-ms:900000}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        Duration lease = Duration.ofMillis(leaseMillis);
+        if (!leaseManager.tryAcquire(LEASE_NAME, lease)) {
+            runCounter("lease_held").increment();
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            completeOverdue(LocalDate.now(), lease);
+            runCounter("completed").increment();
+        } catch (RuntimeException e) {
+            runCounter("failed").increment();
+            throw e;
+        } finally {
+            sample.stop(runDuration);
+            leaseManager.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * Completes every in-progress patient whose treatment ended before
+     * {@code today}; returns how many were moved. Stops early if the lease is
+     * lost to another node or the thread is interrupted.
+     */
+    public int completeOverdue(LocalDate today, Duration lease) {
+        int total = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = patientRepository.findOverdueIds(today, afterId, Limit.of(chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Map<String, Object> result = timetableService.updateTreatmentStatuses(ids, "COMPLETED");
+            int updated = (Integer) result.get("updated");
+            total += updated;
+            completedPatients.increment(updated);
+            completedChunks.increment();
+
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < chunkSize || Thread.currentThread().isInterrupted()
+                    || !leaseManager.tryAcquire(LEASE_NAME, lease)) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private Counter runCounter(String outcome) {
+        return Counter.builder("treatment.autocomplete.runs").tag("outcome", outcome).register(meterRegistry);
+    }
+}
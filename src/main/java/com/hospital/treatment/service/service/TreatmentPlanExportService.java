@@ -0,0 +1,113 @@
+package com.hospital.treatment.service.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.treatment.service.entity.PatientDetail;
+import com.hospital.treatment.service.entity.TreatmentPlan;
+import com.hospital.treatment.service.repository.TreatmentPlanRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Writes every treatment plan with its patient straight to an output stream.
+ * Rows come from a server-side cursor and the persistence context is cleared
+ * after each fetch-sized block, so heap use does not grow with the export.
+ */
+@Service
+public class TreatmentPlanExportService {
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+
+    private static final String[] COLUMNS = { "planId", "patientId", "patientName", "age", "ailment",
+            "insuranceProvider", "packageName", "specialization", "cost", "specialistId", "specialistName",
+            "specialistLevel", "treatmentStartDate", "treatmentEndDate", "durationWeeks", "planStatus",
+            "patientStatus" };
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TreatmentPlanRepository treatmentPlanRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long export(String format, OutputStream out) throws IOException {
+        boolean csv = FORMAT_CSV.equals(format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (csv) {
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+        }
+
+        long count = 0;
+        try (Stream<Object[]> rows = treatmentPlanRepository.streamAllWithPatient()) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                Object[] values = toValues((TreatmentPlan) row[0], (PatientDetail) row[1]);
+                if (csv) {
+                    writeCsvRow(writer, values);
+                } else {
+                    writeJsonRow(writer, values);
+                }
+                if (++count % TreatmentPlanRepository.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static Object[] toValues(TreatmentPlan plan, PatientDetail patient) {
+        return new Object[] { plan.getId(), patient.getId(), patient.getName(), patient.getAge(),
+                patient.getAilment(), patient.getInsuranceProvider(), plan.getPackageName(), plan.getSpecialization(),
+                plan.getCost(), plan.getSpecialistId(), plan.getSpecialistName(), plan.getSpecialistLevel(),
+                plan.getTreatmentStartDate(), plan.getTreatmentEndDate(), plan.getDurationWeeks(), plan.getStatus(),
+                patient.getTreatmentStatus() };
+    }
+
+    private void writeJsonRow(Writer writer, Object[] values) throws IOException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < COLUMNS.length; i++) {
+            row.put(COLUMNS[i], values[i]);
+        }
+        writer.write(objectMapper.writeValueAsString(row));
+        writer.write('\n');
+    }
+
+    private static void writeCsvRow(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(escapeCsv(values[i].toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
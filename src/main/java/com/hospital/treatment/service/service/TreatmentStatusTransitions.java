@@ -0,0 +1,28 @@
+package com.hospital.treatment.service.service;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Allowed patient treatment status transitions. Completed treatment is final;
+ * a cancelled treatment may be reinstated.
+ */
+public final class TreatmentStatusTransitions {
+
+    private static final Map<String, Set<String>> ALLOWED = Map.of(
+            "IN_PROGRESS", Set.of("COMPLETED", "CANCELLED"),
+            "CANCELLED", Set.of("IN_PROGRESS"),
+            "COMPLETED", Set.of());
+
+    private TreatmentStatusTransitions() {
+    }
+
+    public static boolean isKnown(String status) {
+        return ALLOWED.containsKey(status);
+    }
+
+    public static boolean isAllowed(String from, String to) {
+        Set<String> targets = ALLOWED.get(from);
+        return targets != null && targets.contains(to);
+    }
+}
@@ -1,58 +1,177 @@
 package com.hospital.treatment.service.service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.Arrays;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.hospital.caching.ReferencePayloads;
+import com.hospital.caching.ResourceVersions;
+import com.hospital.stats.DashboardStats;
+import com.hospital.treatment.offering.service.TreatmentPackageCatalog;
 import com.hospital.treatment.service.dto.PatientDetailRequest;
+import com.hospital.treatment.service.dto.PatientPage;
 import com.hospital.treatment.service.dto.TreatmentPlanResponse;
+import com.hospital.treatment.service.dto.TreatmentPlanView;
 import com.hospital.treatment.service.entity.PatientDetail;
 import com.hospital.treatment.service.entity.TreatmentPlan;
+import com.hospital.treatment.service.entity.TreatmentSession;
 import com.hospital.treatment.service.repository.PatientDetailRepository;
 import com.hospital.treatment.service.repository.TreatmentPlanRepository;
+import com.hospital.treatment.service.repository.TreatmentSessionRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service
 @Transactional
 public class TreatmentTimetableService {
 
+    public static final String PACKAGE_INFO_PAYLOAD = "package-info";
+
+    private static final int BATCH_FLUSH_SIZE = 500;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_BULK_STATUS_IDS = 1000;
+    private static final int MAX_CALENDAR_DAYS = 31;
+    private static final int DEFAULT_FORECAST_DAYS = 90;
+    private static final int MAX_FORECAST_DAYS = 365;
+    private static final int DEFAULT_SEARCH_RESULTS = 10;
+    private static final int MAX_SEARCH_RESULTS = 50;
+    private static final String SORT_ID = "id";
+    private static final String SORT_START_DATE = "startDate";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     private PatientDetailRepository patientRepository;
 
     @Autowired
     private TreatmentPlanRepository treatmentPlanRepository;
 
+    @Autowired
+    private TreatmentPackageCatalog packageCatalog;
+
+    @Autowired
+    private SpecialistAssignmentEngine assignmentEngine;
+
+    @Autowired
+    private TreatmentSessionRepository sessionRepository;
+
+    @Autowired
+    private SpecialistCalendar specialistCalendar;
+
+    @Autowired
+    private DashboardStats dashboardStats;
+
+    @Autowired
+    private PatientSearchIndex searchIndex;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private OccupancyForecast occupancyForecast;
+
+    @Autowired
+    private ReferencePayloads referencePayloads;
+
+    @Value("${treatment.batch.max-size:500}")
+    private int maxBatchSize;
+
+    // Re-serialized whenever the package catalog publishes a change
+    @PostConstruct
+    void registerReferencePayloads() {
+        referencePayloads.register(PACKAGE_INFO_PAYLOAD, packageCatalog::version, this::getPackageReferenceInfo);
+    }
+
     public TreatmentPlanResponse formulateTreatmentTimetable(PatientDetailRequest request) {
-        // Save patient details
+        return createTreatmentPlan(request);
+    }
+
+    /**
+     * Creates timetables for a whole referral batch in one transaction. Ids come
+     * from pooled sequences, so patients, plans and their tests are written as
+     * JDBC batches; the persistence context is flushed and cleared per chunk to
+     * keep memory flat.
+     */
+    public List<TreatmentPlanResponse> formulateTreatmentTimetables(List<PatientDetailRequest> requests) {
+        checkBatchSize(requests);
+        List<TreatmentPlanResponse> responses = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            responses.add(createTreatmentPlan(requests.get(i)));
+            if ((i + 1) % BATCH_FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return responses;
+    }
+
+    private TreatmentPlanResponse createTreatmentPlan(PatientDetailRequest request) {
+        // Resolve the package first so records store its canonical name
+        TreatmentPackageCatalog.Entry packageInfo = getPackageInfo(request.getPackageName());
+
+        // End date is known up front, so each patient is written with a single insert
+        LocalDate endDate = request.getTreatmentStartDate().plusWeeks(packageInfo.getDurationWeeks());
+
         PatientDetail patient = new PatientDetail(request.getName(), request.getAge(), request.getAilment(),
-                request.getPackageName(), request.getTreatmentStartDate());
+                packageInfo.getName(), request.getTreatmentStartDate());
+        patient.setTreatmentEndDate(endDate);
         patient.setContactNumber(request.getContactNumber());
         patient.setEmail(request.getEmail());
         patient.setAddress(request.getAddress());
 
         PatientDetail savedPatient = patientRepository.save(patient);
+        dashboardStats.patientAdded(savedPatient.getTreatmentStatus(), savedPatient.getTreatmentPackageName());
+        searchIndex.index(savedPatient.getId(), savedPatient.getName(), savedPatient.getAilment());
 
-        // Determine package details and specialist assignment
-        PackageInfo packageInfo = getPackageInfo(request.getPackageName());
-        SpecialistAssignment specialist = assignSpecialist(packageInfo);
-
-        // Calculate treatment end date
-        LocalDate endDate = request.getTreatmentStartDate().plusWeeks(packageInfo.durationWeeks);
-        savedPatient.setTreatmentEndDate(endDate);
-        patientRepository.save(savedPatient);
+        // Least-loaded available specialist at the package's level
+        SpecialistAssignmentEngine.Assignment specialist = assignmentEngine.assign(packageInfo.getSpecialization(),
+                packageInfo.getSpecialistLevel());
 
         // Create treatment plan
-        TreatmentPlan treatmentPlan = new TreatmentPlan(savedPatient.getId(), request.getPackageName(),
-                packageInfo.tests, packageInfo.cost, specialist.name, specialist.level, packageInfo.specialization,
-                request.getTreatmentStartDate(), endDate, packageInfo.durationWeeks);
-        treatmentPlan.setSpecialistContactNumber(specialist.contactNumber);
-        treatmentPlan.setSpecialistEmail(specialist.email);
+        TreatmentPlan treatmentPlan = new TreatmentPlan(savedPatient.getId(), packageInfo.getName(),
+                new ArrayList<>(packageInfo.getTests()), packageInfo.getCost(), specialist.getName(),
+                specialist.getLevel(), packageInfo.getSpecialization(), request.getTreatmentStartDate(), endDate,
+                packageInfo.getDurationWeeks());
+        applySpecialist(treatmentPlan, specialist);
 
         TreatmentPlan savedPlan = treatmentPlanRepository.save(treatmentPlan);
 
+        // Weekly sessions for each package test in the specialist's free slots; if
+        // some week is already full, the plan moves to the next least-loaded specialist
+        List<TreatmentSession> sessions = specialistCalendar.book(savedPlan);
+        Set<Long> fullyBooked = new HashSet<>();
+        while (sessions == null) {
+            fullyBooked.add(specialist.getId());
+            assignmentEngine.release(specialist.getId());
+            specialist = assignmentEngine.assign(packageInfo.getSpecialization(), packageInfo.getSpecialistLevel(),
+                    fullyBooked);
+            applySpecialist(savedPlan, specialist);
+            sessions = specialistCalendar.book(savedPlan);
+        }
+        sessionRepository.saveAll(sessions);
+        occupancyForecast.planCreated(savedPlan);
+
         // Build comprehensive response
         return buildTreatmentPlanResponse(savedPatient, savedPlan, packageInfo, specialist);
     }
@@ -65,76 +184,310 @@ public class TreatmentTimetableService {
         return patientRepository.findByTreatmentStatus(status);
     }
 
-    public TreatmentPlanResponse getTreatmentPlan(Long patientId) {
-        PatientDetail patient = patientRepository.findById(patientId)
-                .orElseThrow(() -> new RuntimeException("Patient not found with id: " + patientId));
+    /**
+     * Rejects an empty batch, or one over {@code treatment.batch.max-size}, with 400.
+     */
+    public void checkBatchSize(List<PatientDetailRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one patient is required");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A batch may hold at most " + maxBatchSize + " patients");
+        }
+    }
 
-        TreatmentPlan plan = treatmentPlanRepository.findByPatientId(patientId)
-                .orElseThrow(() -> new RuntimeException("Treatment plan not found for patient: " + patientId));
+    /**
+     * Keyset page of patients. {@code sort} is "id" (default) or "startDate";
+     * the returned cursor encodes the sort and the last row's key, so the next
+     * page costs one index seek however deep it is.
+     */
+    @Transactional(readOnly = true)
+    public PatientPage getPatients(String status, String packageName, String sort, String cursor, Integer limit) {
+        boolean byStartDate = SORT_START_DATE.equals(sort);
+        if (!byStartDate && sort != null && !SORT_ID.equals(sort)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort: " + sort);
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        LocalDate afterStartDate = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] key = decodeCursor(cursor);
+            if (!key[0].equals(byStartDate ? SORT_START_DATE : SORT_ID)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor does not match sort order");
+            }
+            try {
+                afterId = Long.valueOf(key[1]);
+                afterStartDate = byStartDate ? LocalDate.parse(key[2]) : null;
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
 
-        PackageInfo packageInfo = getPackageInfo(patient.getTreatmentPackageName());
-        SpecialistAssignment specialist = new SpecialistAssignment(plan.getSpecialistName(), plan.getSpecialistLevel(),
-                plan.getSpecialization(), plan.getSpecialistContactNumber(), plan.getSpecialistEmail(), "MBBS, MS", 10);
+        // One extra row tells us whether another page exists
+        List<PatientDetail> rows = patientRepository.findPage(status, packageName, byStartDate, afterStartDate, afterId,
+                pageSize + 1);
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            PatientDetail last = rows.get(pageSize - 1);
+            nextCursor = byStartDate ? encodeCursor(SORT_START_DATE, last.getId() + ":" + last.getTreatmentStartDate())
+                    : encodeCursor(SORT_ID, last.getId().toString());
+        }
+        return new PatientPage(new ArrayList<>(rows), nextCursor, pageSize);
+    }
 
-        return buildTreatmentPlanResponse(patient, plan, packageInfo, specialist);
+    @Transactional(readOnly = true)
+    public TreatmentPlanResponse getTreatmentPlan(Long patientId) {
+        TreatmentPlanView view = treatmentPlanRepository.findViewByPatientId(patientId).orElse(null);
+        if (view == null) {
+            // Only the miss path pays a second query to report which record is absent
+            if (!patientRepository.existsById(patientId)) {
+                throw new RuntimeException("Patient not found with id: " + patientId);
+            }
+            throw new RuntimeException("Treatment plan not found for patient: " + patientId);
+        }
+        return view.toResponse("MBBS, MS", 10);
     }
 
     public void updateTreatmentStatus(Long patientId, String status) {
         PatientDetail patient = patientRepository.findById(patientId)
                 .orElseThrow(() -> new RuntimeException("Patient not found with id: " + patientId));
 
+        dashboardStats.patientStatusChanged(patient.getTreatmentStatus(), status);
         patient.setTreatmentStatus(status);
         patientRepository.save(patient);
 
         treatmentPlanRepository.findByPatientId(patientId).ifPresent(plan -> {
+            assignmentEngine.onPlanStatusChange(plan.getSpecialistId(), plan.getStatus(), status);
+            occupancyForecast.onStatusChange(OccupancyForecast.Span.of(plan), plan.getStatus(), status);
             plan.setStatus(status);
             treatmentPlanRepository.save(plan);
         });
+        if (!SpecialistAssignmentEngine.isActive(status)) {
+            releaseUpcomingSessions(List.of(patientId));
+        }
+        resourceVersions.bumpEntities(ResourceVersions.TREATMENT_PLAN, List.of(patientId));
     }
 
-    private PackageInfo getPackageInfo(String packageName) {
-        // Predefined package information based on requirements
-        return switch (packageName.toLowerCase()) {
-            case "orthopaedics package 1" -> new PackageInfo("Orthopaedics Package 1", "Orthopaedics",
-                    Arrays.asList("OPT1", "OPT2"), 2500.0, 4, 1);
-            case "orthopaedics package 2" -> new PackageInfo("Orthopaedics Package 2", "Orthopaedics",
-                    Arrays.asList("OPT3", "OPT4"), 3000.0, 6, 2);
-            case "urology package 1" -> new PackageInfo("Urology Package 1", "Urology", Arrays.asList("UPT1", "UPT2"),
-                    4000.0, 4, 1);
-            case "urology package 2" -> new PackageInfo("Urology Package 2", "Urology", Arrays.asList("UPT3", "UPT4"),
-                    5000.0, 6, 2);
-            default -> throw new RuntimeException("Unknown package: " + packageName);
-        };
-    }
-
-    private SpecialistAssignment assignSpecialist(PackageInfo packageInfo) {
-        // Assignment logic: Package 1 -> Junior, Package 2 -> Senior
-        String level = packageInfo.packageLevel == 1 ? "JUNIOR" : "SENIOR";
-
-        // Predefined specialists based on requirements
-        if ("Orthopaedics".equals(packageInfo.specialization)) {
-            if ("JUNIOR".equals(level)) {
-                return new SpecialistAssignment("Dr. Rajesh Kumar", "JUNIOR", "Orthopaedics", "+91-9876543210",
-                        "rajesh.kumar@healthsync.com", "MBBS, MS Orthopaedics", 3);
+    /**
+     * Moves a set of patients to {@code status} with one set-based UPDATE per
+     * table. Current statuses are read (and row-locked) as a projection, so no
+     * entities are loaded; each id gets its own outcome: updated, unchanged,
+     * not_found or rejected when the state graph forbids the transition.
+     */
+    public Map<String, Object> updateTreatmentStatuses(List<Long> patientIds, String status) {
+        if (patientIds == null || patientIds.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "patientIds must not be empty");
+        }
+        if (patientIds.size() > MAX_BULK_STATUS_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BULK_STATUS_IDS + " patients can be updated at once");
+        }
+        if (!TreatmentStatusTransitions.isKnown(status)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown treatment status: " + status);
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(patientIds);
+        Map<Long, String> current = new HashMap<>();
+        for (Object[] row : patientRepository.lockStatusesByIdIn(ids)) {
+            current.put((Long) row[0], (String) row[1]);
+        }
+
+        List<Long> eligible = new ArrayList<>();
+        List<Map<String, Object>> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            String previous = current.get(id);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("patientId", id);
+            if (previous == null) {
+                result.put("outcome", "not_found");
+            } else if (previous.equals(status)) {
+                result.put("outcome", "unchanged");
+                result.put("previousStatus", previous);
+            } else if (TreatmentStatusTransitions.isAllowed(previous, status)) {
+                eligible.add(id);
+                dashboardStats.patientStatusChanged(previous, status);
+                result.put("outcome", "updated");
+                result.put("previousStatus", previous);
             } else {
-                return new SpecialistAssignment("Dr. Anil Gupta", "SENIOR", "Orthopaedics", "+91-9876543212",
-                        "anil.gupta@healthsync.com", "MBBS, MS, MCh Orthopaedics", 15);
+                result.put("outcome", "rejected");
+                result.put("previousStatus", previous);
+                result.put("message", "Cannot move treatment from " + previous + " to " + status);
             }
-        } else if ("Urology".equals(packageInfo.specialization)) {
-            if ("JUNIOR".equals(level)) {
-                return new SpecialistAssignment("Dr. Vikram Singh", "JUNIOR", "Urology", "+91-9876543214",
-                        "vikram.singh@healthsync.com", "MBBS, MS Urology", 2);
-            } else {
-                return new SpecialistAssignment("Dr. Ashok Mehta", "SENIOR", "Urology", "+91-9876543216",
-                        "ashok.mehta@healthsync.com", "MBBS, MS, MCh Urology", 20);
+            results.add(result);
+        }
+
+        if (!eligible.isEmpty()) {
+            List<Object[]> plans = treatmentPlanRepository.findStatusesByPatientIdIn(eligible);
+            patientRepository.updateStatusByIdIn(eligible, status);
+            treatmentPlanRepository.updateStatusByPatientIdIn(eligible, status);
+            for (Object[] plan : plans) {
+                assignmentEngine.onPlanStatusChange((Long) plan[1], (String) plan[2], status);
+                occupancyForecast.onStatusChange(new OccupancyForecast.Span((String) plan[3], (Long) plan[1],
+                        (String) plan[4], (LocalDate) plan[5], (LocalDate) plan[6]), (String) plan[2], status);
             }
+            if (!SpecialistAssignmentEngine.isActive(status)) {
+                releaseUpcomingSessions(eligible);
+            }
+            resourceVersions.bumpEntities(ResourceVersions.TREATMENT_PLAN, eligible);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("newStatus", status);
+        response.put("requested", ids.size());
+        response.put("updated", eligible.size());
+        response.put("results", results);
+        return response;
+    }
+
+    /**
+     * Ranked substring and typo-tolerant search over patient names and
+     * ailments, served from the trigram index; only the top hits are loaded.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> searchPatients(String query, String field, Integer limit) {
+        if (query == null || PatientSearchIndex.normalize(query).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "q must contain letters or digits");
+        }
+        String searchField = field == null ? PatientSearchIndex.FIELD_ANY : field.toLowerCase();
+        if (!List.of(PatientSearchIndex.FIELD_ANY, PatientSearchIndex.FIELD_NAME, PatientSearchIndex.FIELD_AILMENT)
+                .contains(searchField)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "field must be any, name or ailment");
+        }
+        int pageSize = limit == null ? DEFAULT_SEARCH_RESULTS : Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS);
+
+        List<PatientSearchIndex.Hit> hits = searchIndex.search(query, searchField, pageSize);
+        Map<Long, PatientDetail> patients = new HashMap<>();
+        patientRepository.findAllById(hits.stream().map(PatientSearchIndex.Hit::getPatientId).toList())
+                .forEach(patient -> patients.put(patient.getId(), patient));
+
+        List<Map<String, Object>> results = new ArrayList<>(hits.size());
+        for (PatientSearchIndex.Hit hit : hits) {
+            PatientDetail patient = patients.get(hit.getPatientId());
+            if (patient == null) {
+                continue;
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("patientId", patient.getId());
+            result.put("name", patient.getName());
+            result.put("ailment", patient.getAilment());
+            result.put("treatmentPackageName", patient.getTreatmentPackageName());
+            result.put("treatmentStatus", patient.getTreatmentStatus());
+            result.put("matchedField", hit.getMatchedField());
+            result.put("score", Math.round(hit.getScore() * 1000) / 1000.0);
+            results.add(result);
         }
 
-        throw new RuntimeException("No specialist available for specialization: " + packageInfo.specialization);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("query", query);
+        response.put("field", searchField);
+        response.put("results", results);
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getSpecialistCalendar(Long specialistId, LocalDate from, LocalDate to) {
+        if (!from.isBefore(to) || from.plusDays(MAX_CALENDAR_DAYS).isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Calendar range must span 1 to " + MAX_CALENDAR_DAYS + " days");
+        }
+        List<TreatmentSession> sessions = sessionRepository
+                .findBySpecialistIdAndStartTimeGreaterThanEqualAndStartTimeLessThanOrderByStartTime(specialistId,
+                        from.atStartOfDay(), to.atStartOfDay());
+        List<Map<String, Object>> freeSlots = new ArrayList<>();
+        for (LocalDateTime[] slot : specialistCalendar.freeSlots(specialistId, from, to)) {
+            freeSlots.add(Map.of("startTime", slot[0], "endTime", slot[1]));
+        }
+
+        Map<String, Object> calendar = new LinkedHashMap<>();
+        calendar.put("specialistId", specialistId);
+        calendar.put("from", from);
+        calendar.put("to", to);
+        calendar.put("sessions", sessions);
+        calendar.put("freeSlots", freeSlots);
+        return calendar;
+    }
+
+    /**
+     * Daily count of active plans for the next {@code days} days (default 90)
+     * per specialization and per specialist, optionally narrowed to one of
+     * each.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getOccupancyForecast(Integer days, String specialization, Long specialistId) {
+        int horizon = days == null ? DEFAULT_FORECAST_DAYS : days;
+        if (horizon < 1 || horizon > MAX_FORECAST_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "days must be between 1 and " + MAX_FORECAST_DAYS);
+        }
+        String filter = specialization == null || specialization.isBlank() ? null : specialization.trim();
+        return occupancyForecast.forecast(horizon, filter, specialistId);
+    }
+
+    // Sessions of finished or cancelled treatments no longer hold their slots
+    private void releaseUpcomingSessions(List<Long> patientIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> slots = sessionRepository.findSlotsByPatientIdInStartingAfter(patientIds, now);
+        if (!slots.isEmpty()) {
+            sessionRepository.deleteByPatientIdInStartingAfter(patientIds, now);
+            specialistCalendar.releaseAfterCommit(slots);
+        }
+    }
+
+    public Map<String, Object> getPackageReferenceInfo() {
+        List<Map<String, Object>> packages = new ArrayList<>();
+        for (TreatmentPackageCatalog.Entry pkg : packageCatalog.findAll()) {
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("name", pkg.getName());
+            info.put("specialization", pkg.getSpecialization());
+            info.put("tests", pkg.getTests());
+            info.put("cost", pkg.getCost());
+            info.put("durationWeeks", pkg.getDurationWeeks());
+            info.put("assignedSpecialistLevel", pkg.getSpecialistLevel());
+            packages.add(info);
+        }
+        return Map.of("availablePackages", packages, "assignmentRules",
+                Map.of("Package 1", "Assigned to JUNIOR specialist", "Package 2", "Assigned to SENIOR specialist"));
+    }
+
+    private static String encodeCursor(String sort, String key) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((sort + ":" + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns {sort, id, startDate?}
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (key.length == (SORT_START_DATE.equals(key[0]) ? 3 : 2)) {
+                return key;
+            }
+        } catch (IllegalArgumentException e) {
+            // fall through
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+
+    private static void applySpecialist(TreatmentPlan plan, SpecialistAssignmentEngine.Assignment specialist) {
+        plan.setSpecialistId(specialist.getId());
+        plan.setSpecialistName(specialist.getName());
+        plan.setSpecialistLevel(specialist.getLevel());
+        plan.setSpecialistContactNumber(specialist.getContactNumber());
+        plan.setSpecialistEmail(specialist.getEmail());
+    }
+
+    private TreatmentPackageCatalog.Entry getPackageInfo(String packageName) {
+        TreatmentPackageCatalog.Entry packageInfo = packageCatalog.findByName(packageName);
+        if (packageInfo == null) {
+            throw new RuntimeException("Unknown package: " + packageName);
+        }
+        return packageInfo;
     }
 
     private TreatmentPlanResponse buildTreatmentPlanResponse(PatientDetail patient, TreatmentPlan plan,
-            PackageInfo packageInfo, SpecialistAssignment specialist) {
+            TreatmentPackageCatalog.Entry packageInfo, SpecialistAssignmentEngine.Assignment specialist) {
         TreatmentPlanResponse response = new TreatmentPlanResponse();
         response.setId(plan.getId());
         response.setStatus(plan.getStatus());
@@ -146,15 +499,16 @@ public class TreatmentTimetableService {
         response.setPatient(patientInfo);
 
         // Package information
-        TreatmentPlanResponse.PackageInfo pkgInfo = new TreatmentPlanResponse.PackageInfo(packageInfo.name,
-                packageInfo.specialization, packageInfo.tests, packageInfo.cost, packageInfo.durationWeeks,
-                packageInfo.packageLevel);
+        TreatmentPlanResponse.PackageInfo pkgInfo = new TreatmentPlanResponse.PackageInfo(packageInfo.getName(),
+                packageInfo.getSpecialization(), packageInfo.getTests(), packageInfo.getCost(),
+                packageInfo.getDurationWeeks(), packageInfo.getPackageLevel());
         response.setPackageDetails(pkgInfo);
 
         // Specialist information
-        TreatmentPlanResponse.SpecialistInfo specialistInfo = new TreatmentPlanResponse.SpecialistInfo(specialist.name,
-                specialist.level, specialist.specialization, specialist.contactNumber, specialist.email,
-                specialist.qualification, specialist.experience);
+        TreatmentPlanResponse.SpecialistInfo specialistInfo = new TreatmentPlanResponse.SpecialistInfo(
+                specialist.getName(), specialist.getLevel(), specialist.getSpecialization(),
+                specialist.getContactNumber(), specialist.getEmail(), specialist.getQualification(),
+                specialist.getExperience());
         response.setAssignedSpecialist(specialistInfo);
 
         // Treatment schedule
@@ -164,45 +518,4 @@ public class TreatmentTimetableService {
 
         return response;
     }
-
-    // Helper classes for internal use
-    private static class PackageInfo {
-        String name;
-        String specialization;
-        List<String> tests;
-        Double cost;
-        Integer durationWeeks;
-        Integer packageLevel;
-
-        PackageInfo(String name, String specialization, List<String> tests, Double cost, Integer durationWeeks,
-                Integer packageLevel) {
-            this.name = name;
-            this.specialization = specialization;
-            this.tests = tests;
-            this.cost = cost;
-            this.durationWeeks = durationWeeks;
-            this.packageLevel = packageLevel;
-        }
-    }
-
-    private static class SpecialistAssignment {
-        String name;
-        String level;
-        String specialization;
-        String contactNumber;
-        String email;
-        String qualification;
-        Integer experience;
-
-        SpecialistAssignment(String name, String level, String specialization, String contactNumber, String email,
-                String qualification, Integer experience) {
-            this.name = name;
-            this.level = level;
-            this.specialization = specialization;
-            this.contactNumber = contactNumber;
-            this.email = email;
-            this.qualification = qualification;
-            this.experience = experience;
-        }
-    }
-}
\ No newline at end of file
+}
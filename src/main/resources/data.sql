@@ -21,6 +21,13 @@ INSERT INTO treatment_packages (name, specialization, cost, duration_weeks, pack
 ('Urology Package 1', 'Urology', 4000.0, 4, 1),
 ('Urology Package 2', 'Urology', 5000.0, 6, 2);
 
+-- Insert Package Tests
+INSERT INTO package_tests (package_id, test_name) VALUES
+(1, 'OPT1'), (1, 'OPT2'),
+(2, 'OPT3'), (2, 'OPT4'),
+(3, 'UPT1'), (3, 'UPT2'),
+(4, 'UPT3'), (4, 'UPT4');
+
 -- Insert Specialists
 INSERT INTO specialists (name, specialization, level, qualification, experience, contact_number, email, available) VALUES
 ('Dr. Rajesh Kumar', 'Orthopaedics', 'JUNIOR', 'MBBS, MS Orthopaedics', 3, '+91-9876543210', 'rajesh.kumar@healthsync.com', true),
@@ -33,22 +40,35 @@ INSERT INTO specialists (name, specialization, level, qualification, experience,
 ('Dr. Kavita Verma', 'Urology', 'SENIOR', 'MBBS, MS, Fellowship Uro-Oncology', 16, '+91-9876543217', 'kavita.verma@healthsync.com', true);
 
 -- Insert Patient Details
-INSERT INTO patient_details (name, age, ailment, treatment_package_name, treatment_start_date, treatment_end_date, contact_number, email, address, insurance_provider, treatment_status) VALUES
-('Amit Sharma', 45, 'Knee joint pain and stiffness', 'Orthopaedics Package 1', CURRENT_DATE - INTERVAL '10' DAY, CURRENT_DATE + INTERVAL '18' DAY, '+91-9876543220', 'amit.sharma@gmail.com', '123 MG Road, Bangalore', 'Star Health Insurance', 'IN_PROGRESS'),
-('Priya Patel', 38, 'Lower back pain and disc problems', 'Orthopaedics Package 2', CURRENT_DATE - INTERVAL '15' DAY, CURRENT_DATE + INTERVAL '27' DAY, '+91-9876543221', 'priya.patel@gmail.com', '456 Park Street, Mumbai', 'HDFC ERGO Health', 'IN_PROGRESS'),
-('Rajesh Kumar', 52, 'Kidney stones and urinary issues', 'Urology Package 1', CURRENT_DATE - INTERVAL '8' DAY, CURRENT_DATE + INTERVAL '20' DAY, '+91-9876543222', 'rajesh.kumar@gmail.com', '789 Anna Salai, Chennai', 'ICICI Lombard Health', 'IN_PROGRESS'),
-('Sunita Singh', 41, 'Bladder infection and related complications', 'Urology Package 2', CURRENT_DATE - INTERVAL '12' DAY, CURRENT_DATE + INTERVAL '30' DAY, '+91-9876543223', 'sunita.singh@gmail.com', '321 CP Road, Delhi', 'Max Bupa Health', 'IN_PROGRESS'),
-('Vikram Rao', 48, 'Hip replacement surgery required', 'Orthopaedics Package 2', CURRENT_DATE - INTERVAL '5' DAY, CURRENT_DATE + INTERVAL '37' DAY, '+91-9876543224', 'vikram.rao@gmail.com', '654 Brigade Road, Bangalore', 'Apollo Munich Health Insurance', 'IN_PROGRESS'),
-('Neha Gupta', 35, 'Prostate treatment and monitoring', 'Urology Package 1', CURRENT_DATE - INTERVAL '18' DAY, CURRENT_DATE + INTERVAL '10' DAY, '+91-9876543225', 'neha.gupta@gmail.com', '987 Linking Road, Mumbai', 'Bajaj Allianz Health', 'IN_PROGRESS');
+INSERT INTO patient_details (id, name, age, ailment, treatment_package_name, treatment_start_date, treatment_end_date, contact_number, email, address, insurance_provider, treatment_status) VALUES
+(1, 'Amit Sharma', 45, 'Knee joint pain and stiffness', 'Orthopaedics Package 1', CURRENT_DATE - INTERVAL '10' DAY, CURRENT_DATE + INTERVAL '18' DAY, '+91-9876543220', 'amit.sharma@gmail.com', '123 MG Road, Bangalore', 'Star Health Insurance', 'IN_PROGRESS'),
+(2, 'Priya Patel', 38, 'Lower back pain and disc problems', 'Orthopaedics Package 2', CURRENT_DATE - INTERVAL '15' DAY, CURRENT_DATE + INTERVAL '27' DAY, '+91-9876543221', 'priya.patel@gmail.com', '456 Park Street, Mumbai', 'HDFC ERGO Health', 'IN_PROGRESS'),
+(3, 'Rajesh Kumar', 52, 'Kidney stones and urinary issues', 'Urology Package 1', CURRENT_DATE - INTERVAL '8' DAY, CURRENT_DATE + INTERVAL '20' DAY, '+91-9876543222', 'rajesh.kumar@gmail.com', '789 Anna Salai, Chennai', 'ICICI Lombard Health', 'IN_PROGRESS'),
+(4, 'Sunita Singh', 41, 'Bladder infection and related complications', 'Urology Package 2', CURRENT_DATE - INTERVAL '12' DAY, CURRENT_DATE + INTERVAL '30' DAY, '+91-9876543223', 'sunita.singh@gmail.com', '321 CP Road, Delhi', 'Max Bupa Health', 'IN_PROGRESS'),
+(5, 'Vikram Rao', 48, 'Hip replacement surgery required', 'Orthopaedics Package 2', CURRENT_DATE - INTERVAL '5' DAY, CURRENT_DATE + INTERVAL '37' DAY, '+91-9876543224', 'vikram.rao@gmail.com', '654 Brigade Road, Bangalore', 'Apollo Munich Health Insurance', 'IN_PROGRESS'),
+(6, 'Neha Gupta', 35, 'Prostate treatment and monitoring', 'Urology Package 1', CURRENT_DATE - INTERVAL '18' DAY, CURRENT_DATE + INTERVAL '10' DAY, '+91-9876543225', 'neha.gupta@gmail.com', '987 Linking Road, Mumbai', 'Bajaj Allianz Health', 'IN_PROGRESS');
 
 -- Insert Treatment Plans
-INSERT INTO treatment_plans (patient_id, package_name, cost, specialist_name, specialist_level, specialization, treatment_start_date, treatment_end_date, duration_weeks, specialist_contact_number, specialist_email, status) VALUES
-(1, 'Orthopaedics Package 1', 2500.0, 'Dr. Rajesh Kumar', 'JUNIOR', 'Orthopaedics', CURRENT_DATE - INTERVAL '10' DAY, CURRENT_DATE + INTERVAL '18' DAY, 4, '+91-9876543210', 'rajesh.kumar@healthsync.com', 'SCHEDULED'),
-(2, 'Orthopaedics Package 2', 3000.0, 'Dr. Anil Gupta', 'SENIOR', 'Orthopaedics', CURRENT_DATE - INTERVAL '15' DAY, CURRENT_DATE + INTERVAL '27' DAY, 6, '+91-9876543212', 'anil.gupta@healthsync.com', 'SCHEDULED'),
-(3, 'Urology Package 1', 4000.0, 'Dr. Vikram Singh', 'JUNIOR', 'Urology', CURRENT_DATE - INTERVAL '8' DAY, CURRENT_DATE + INTERVAL '20' DAY, 4, '+91-9876543214', 'vikram.singh@healthsync.com', 'SCHEDULED'),
-(4, 'Urology Package 2', 5000.0, 'Dr. Ashok Mehta', 'SENIOR', 'Urology', CURRENT_DATE - INTERVAL '12' DAY, CURRENT_DATE + INTERVAL '30' DAY, 6, '+91-9876543216', 'ashok.mehta@healthsync.com', 'SCHEDULED'),
-(5, 'Orthopaedics Package 2', 3000.0, 'Dr. Sunita Rao', 'SENIOR', 'Orthopaedics', CURRENT_DATE - INTERVAL '5' DAY, CURRENT_DATE + INTERVAL '37' DAY, 6, '+91-9876543213', 'sunita.rao@healthsync.com', 'SCHEDULED'),
-(6, 'Urology Package 1', 4000.0, 'Dr. Neha Jain', 'JUNIOR', 'Urology', CURRENT_DATE - INTERVAL '18' DAY, CURRENT_DATE + INTERVAL '10' DAY, 4, '+91-9876543215', 'neha.jain@healthsync.com', 'SCHEDULED');
+INSERT INTO treatment_plans (id, patient_id, package_name, cost, specialist_id, specialist_name, specialist_level, specialization, treatment_start_date, treatment_end_date, duration_weeks, specialist_contact_number, specialist_email, status) VALUES
+(1, 1, 'Orthopaedics Package 1', 2500.0, 1, 'Dr. Rajesh Kumar', 'JUNIOR', 'Orthopaedics', CURRENT_DATE - INTERVAL '10' DAY, CURRENT_DATE + INTERVAL '18' DAY, 4, '+91-9876543210', 'rajesh.kumar@healthsync.com', 'SCHEDULED'),
+(2, 2, 'Orthopaedics Package 2', 3000.0, 3, 'Dr. Anil Gupta', 'SENIOR', 'Orthopaedics', CURRENT_DATE - INTERVAL '15' DAY, CURRENT_DATE + INTERVAL '27' DAY, 6, '+91-9876543212', 'anil.gupta@healthsync.com', 'SCHEDULED'),
+(3, 3, 'Urology Package 1', 4000.0, 5, 'Dr. Vikram Singh', 'JUNIOR', 'Urology', CURRENT_DATE - INTERVAL '8' DAY, CURRENT_DATE + INTERVAL '20' DAY, 4, '+91-9876543214', 'vikram.singh@healthsync.com', 'SCHEDULED'),
+(4, 4, 'Urology Package 2', 5000.0, 7, 'Dr. Ashok Mehta', 'SENIOR', 'Urology', CURRENT_DATE - INTERVAL '12' DAY, CURRENT_DATE + INTERVAL '30' DAY, 6, '+91-9876543216', 'ashok.mehta@healthsync.com', 'SCHEDULED'),
+(5, 5, 'Orthopaedics Package 2', 3000.0, 4, 'Dr. Sunita Rao', 'SENIOR', 'Orthopaedics', CURRENT_DATE - INTERVAL '5' DAY, CURRENT_DATE + INTERVAL '37' DAY, 6, '+91-9876543213', 'sunita.rao@healthsync.com', 'SCHEDULED'),
+(6, 6, 'Urology Package 1', 4000.0, 6, 'Dr. Neha Jain', 'JUNIOR', 'Urology', CURRENT_DATE - INTERVAL '18' DAY, CURRENT_DATE + INTERVAL '10' DAY, 4, '+91-9876543215', 'neha.jain@healthsync.com', 'SCHEDULED');
+
+-- Continue generated ids after the seeded rows
+ALTER SEQUENCE patient_details_seq RESTART WITH 7;
+ALTER SEQUENCE treatment_plans_seq RESTART WITH 7;
+
+-- Insert Treatment Plan Tests
+INSERT INTO treatment_tests (treatment_plan_id, test_name) VALUES
+(1, 'OPT1'), (1, 'OPT2'),
+(2, 'OPT3'), (2, 'OPT4'),
+(3, 'UPT1'), (3, 'UPT2'),
+(4, 'UPT3'), (4, 'UPT4'),
+(5, 'OPT3'), (5, 'OPT4'),
+(6, 'UPT1'), (6, 'UPT2');
 
 -- Insert Claim Requests
 INSERT INTO claim_requests (patient_name, ailment, treatment_package_name, treatment_cost, insurer_name, insurer_package_name, insurance_amount_limit, balance_amount, claim_status, claim_reference_number, patient_id, claim_initiated_date) VALUES
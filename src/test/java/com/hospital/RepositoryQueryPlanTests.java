@@ -0,0 +1,204 @@
+package com.hospital;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.hospital.insurance.repository.ClaimRequestRepository;
+import com.hospital.insurance.repository.InsurerRepository;
+import com.hospital.treatment.offering.repository.SpecialistRepository;
+import com.hospital.treatment.offering.repository.TreatmentPackageRepository;
+import com.hospital.treatment.service.repository.PatientDetailRepository;
+import com.hospital.treatment.service.repository.TreatmentPlanRepository;
+import com.hospital.treatment.service.repository.TreatmentSessionRepository;
+
+/**
+ * Seeds every table with enough rows that a scan is clearly worse than a seek,
+ * then runs each repository finder, captures the SQL Hibernate issues and
+ * asserts through EXPLAIN that H2 answers it from the expected index.
+ */
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:query_plan_db",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.hospital.RepositoryQueryPlanTests$SqlRecorder",
+        "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO" })
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanTests {
+
+    private static final int ROWS = 20_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PatientDetailRepository patientRepository;
+
+    @Autowired
+    private TreatmentPlanRepository treatmentPlanRepository;
+
+    @Autowired
+    private TreatmentSessionRepository sessionRepository;
+
+    @Autowired
+    private ClaimRequestRepository claimRequestRepository;
+
+    @Autowired
+    private InsurerRepository insurerRepository;
+
+    @Autowired
+    private SpecialistRepository specialistRepository;
+
+    @Autowired
+    private TreatmentPackageRepository packageRepository;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO patient_details (id, name, age, ailment, treatment_package_name, "
+                + "treatment_start_date, treatment_status) SELECT 1000 + X, 'Patient ' || X, 20 + MOD(X, 60), "
+                + "'Ailment ' || MOD(X, 5000), 'Package ' || MOD(X, 2000), DATEADD('DAY', MOD(X, 365), DATE '2026-01-01'), "
+                + "CASE MOD(X, 100) WHEN 0 THEN 'CANCELLED' ELSE 'COMPLETED' END FROM SYSTEM_RANGE(1, ?)", ROWS);
+        jdbcTemplate.update("INSERT INTO treatment_plans (id, patient_id, package_name, cost, specialist_id, "
+                + "specialist_name, specialist_level, specialization, treatment_start_date, treatment_end_date, "
+                + "duration_weeks, status) SELECT 1000 + X, 1000 + X, 'Package ' || MOD(X, 2000), 1000.0, MOD(X, 2000), "
+                + "'Specialist ' || MOD(X, 2000), 'JUNIOR', 'Specialization ' || MOD(X, 500), DATE '2026-01-01', "
+                + "DATE '2026-02-01', 4, CASE MOD(X, 100) WHEN 0 THEN 'SCHEDULED' ELSE 'COMPLETED' END "
+                + "FROM SYSTEM_RANGE(1, ?)", ROWS);
+        jdbcTemplate.update("INSERT INTO treatment_tests (treatment_plan_id, test_name) "
+                + "SELECT 1000 + X, 'TEST' || MOD(X, 10) FROM SYSTEM_RANGE(1, ?)", ROWS);
+        jdbcTemplate.update("INSERT INTO treatment_sessions (id, treatment_plan_id, patient_id, specialist_id, test_name, "
+                + "start_time, end_time) SELECT X, 1000 + MOD(X, ?), 1000 + MOD(X, ?), MOD(X, 20), 'TEST', "
+                + "DATEADD('MINUTE', X * 30, TIMESTAMP '2026-01-01 09:00:00'), "
+                + "DATEADD('MINUTE', X * 30 + 30, TIMESTAMP '2026-01-01 09:00:00') FROM SYSTEM_RANGE(1, ?)", ROWS,
+                ROWS, ROWS);
+        jdbcTemplate.update("INSERT INTO claim_requests (patient_name, ailment, treatment_package_name, treatment_cost, "
+                + "insurer_name, insurer_package_name, insurance_amount_limit, balance_amount, claim_status, "
+                + "claim_reference_number, patient_id, claim_initiated_date) SELECT 'Patient ' || X, 'Ailment', "
+                + "'Package', 1000.0, 'Insurer ' || MOD(X, 2000), 'Cover', 500.0, 500.0, "
+                + "CASE MOD(X, 100) WHEN 0 THEN 'INITIATED' ELSE 'DISBURSED' END, 'REF-' || X, 1000 + X, "
+                + "TIMESTAMP '2026-01-01 00:00:00' FROM SYSTEM_RANGE(1, ?)", ROWS);
+        jdbcTemplate.update("INSERT INTO insurers (insurer_name, package_name, insurance_amount_limit, "
+                + "disbursement_duration_days, active) SELECT 'Insurer ' || X, 'Cover ' || X, X * 10.0, 7, TRUE "
+                + "FROM SYSTEM_RANGE(1, ?)", ROWS);
+        jdbcTemplate.update("INSERT INTO specialists (name, specialization, level, qualification, experience, "
+                + "available) SELECT 'Specialist ' || X, 'Specialization ' || MOD(X, 500), "
+                + "CASE MOD(X, 100) WHEN 0 THEN 'CONSULTANT' ELSE 'SENIOR' END, 'MBBS', 5, TRUE "
+                + "FROM SYSTEM_RANGE(1, ?)", ROWS);
+        jdbcTemplate.update("INSERT INTO treatment_packages (name, specialization, cost, duration_weeks, package_level) "
+                + "SELECT 'Package ' || X, 'Specialization ' || MOD(X, 500), 1000.0, 4, 3 + MOD(X, 1000) "
+                + "FROM SYSTEM_RANGE(1, ?)", ROWS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void patientFindersUseIndexes() {
+        assertUsesIndex("IDX_PATIENT_STATUS", () -> patientRepository.findByTreatmentStatus("CANCELLED"),
+                "CANCELLED");
+        assertUsesIndex("IDX_PATIENT_AILMENT", () -> patientRepository.findByAilment("Ailment 7"), "Ailment 7");
+        assertUsesIndex("IDX_PATIENT_PACKAGE_ID", () -> patientRepository.findByTreatmentPackageName("Package 7"),
+                "Package 7");
+        assertUsesIndex("IDX_PATIENT_NAME", () -> patientRepository.findByName("Patient 7"), "Patient 7");
+        LocalDate after = LocalDate.of(2026, 3, 1);
+        assertUsesIndex("IDX_PATIENT_STATUS_END_DATE",
+                () -> patientRepository.findOverdueIds(after, 5000L, Limit.of(500)), after, 5000L, 500);
+        assertUsesIndex("IDX_PATIENT_STATUS_START_DATE_ID",
+                () -> patientRepository.findPage("CANCELLED", null, true, after, 5000L, 51), "CANCELLED", after,
+                5000L, 51);
+    }
+
+    @Test
+    void treatmentPlanFindersUseIndexes() {
+        assertUsesIndex("UK_TREATMENT_PLAN_PATIENT", () -> treatmentPlanRepository.findByPatientId(1007L), 1007L);
+        assertUsesIndex("IDX_PLAN_SPECIALIZATION_STATUS",
+                () -> treatmentPlanRepository.findBySpecializationAndStatus("Specialization 7", "SCHEDULED"),
+                "Specialization 7", "SCHEDULED");
+        assertUsesIndex("IDX_PLAN_SPECIALIST_NAME", () -> treatmentPlanRepository.findBySpecialistName("Specialist 7"),
+                "Specialist 7");
+        assertUsesIndex("IDX_PLAN_STATUS", () -> treatmentPlanRepository.findByStatus("SCHEDULED"), "SCHEDULED");
+        assertUsesIndex("IDX_PLAN_PACKAGE_NAME", () -> treatmentPlanRepository.findByPackageName("Package 7"),
+                "Package 7");
+        assertUsesIndex("UK_TREATMENT_PLAN_PATIENT", () -> treatmentPlanRepository.findViewByPatientId(1007L),
+                1007L);
+        assertUsesIndex("UK_TREATMENT_PLAN_PATIENT",
+                () -> treatmentPlanRepository.findStatusesByPatientIdIn(List.of(1007L, 1008L)), 1007L, 1008L);
+    }
+
+    @Test
+    void treatmentSessionFindersUseIndexes() {
+        LocalDateTime from = LocalDateTime.of(2026, 3, 2, 0, 0);
+        LocalDateTime to = from.plusDays(7);
+        assertUsesIndex("IDX_SESSION_SPECIALIST_START",
+                () -> sessionRepository.findBySpecialistIdAndStartTimeGreaterThanEqualAndStartTimeLessThanOrderByStartTime(
+                        7L, from, to),
+                7L, from, to);
+        assertUsesIndex("IDX_SESSION_PATIENT_START",
+                () -> sessionRepository.findSlotsByPatientIdInStartingAfter(List.of(1007L, 1008L), from), 1007L, 1008L,
+                from);
+    }
+
+    @Test
+    void claimFindersUseIndexes() {
+        assertUsesIndex("IDX_CLAIM_PATIENT_NAME", () -> claimRequestRepository.findByPatientName("Patient 7"),
+                "Patient 7");
+        assertUsesIndex("IDX_CLAIM_STATUS", () -> claimRequestRepository.findByClaimStatus("INITIATED"),
+                "INITIATED");
+        assertUsesIndex("IDX_CLAIM_PATIENT_ID", () -> claimRequestRepository.findByPatientId(1007L), 1007L);
+        assertUsesIndex("IDX_CLAIM_INSURER_NAME", () -> claimRequestRepository.findByInsurerName("Insurer 7"),
+                "Insurer 7");
+        assertUsesIndex("UK_CLAIM_REFERENCE_NUMBER",
+                () -> claimRequestRepository.findByClaimReferenceNumber("REF-7"), "REF-7");
+    }
+
+    @Test
+    void insurerFindersUseIndexes() {
+        assertUsesIndex("IDX_INSURER_PACKAGE_NAME", () -> insurerRepository.findByPackageName("Cover 7"), "Cover 7");
+        assertUsesIndex("INSURER_NAME", () -> insurerRepository.findByInsurerName("Insurer 7"), "Insurer 7");
+        assertUsesIndex("IDX_INSURER_AMOUNT_LIMIT",
+                () -> insurerRepository.findByInsuranceAmountLimitGreaterThanEqual(199_000.0), 199_000.0);
+    }
+
+    @Test
+    void offeringFindersUseIndexes() {
+        assertUsesIndex("IDX_SPECIALIST_SPECIALIZATION_LEVEL",
+                () -> specialistRepository.findBySpecialization("Specialization 7"), "Specialization 7");
+        assertUsesIndex("IDX_SPECIALIST_LEVEL", () -> specialistRepository.findByLevel("CONSULTANT"), "CONSULTANT");
+        assertUsesIndex("IDX_SPECIALIST_SPECIALIZATION_LEVEL",
+                () -> specialistRepository.findBySpecializationAndLevel("Specialization 7", "CONSULTANT"),
+                "Specialization 7", "CONSULTANT");
+        assertUsesIndex("IDX_PACKAGE_SPECIALIZATION", () -> packageRepository.findBySpecialization("Specialization 7"),
+                "Specialization 7");
+        assertUsesIndex("UK_TREATMENT_PACKAGE_NAME", () -> packageRepository.findByName("Package 7"), "Package 7");
+        assertUsesIndex("IDX_PACKAGE_LEVEL", () -> packageRepository.findByPackageLevel(7), 7);
+    }
+
+    // Runs the finder, then EXPLAINs the first statement it issued with the same
+    // bind values, given in the order they appear in the SQL
+    private void assertUsesIndex(String index, Runnable finder, Object... parameters) {
+        SqlRecorder.STATEMENTS.clear();
+        finder.run();
+        assertThat(SqlRecorder.STATEMENTS).isNotEmpty();
+        String sql = SqlRecorder.STATEMENTS.get(0);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+        assertThat(plan).as(sql).contains(index).doesNotContain("tableScan");
+    }
+
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
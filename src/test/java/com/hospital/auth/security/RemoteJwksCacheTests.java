@@ -0,0 +1,37 @@
+package com.hospital.auth.security;
+
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class RemoteJwksCacheTests {
+
+    @Test
+    void scheduledRefreshDoesNotWaitForTheFetch() throws Exception {
+        RemoteJwksCache cache = new RemoteJwksCache();
+        ReflectionTestUtils.setField(cache, "jwksUri", "http://127.0.0.1:9/jwks.json");
+        ReflectionTestUtils.setField(cache, "connectTimeoutMillis", 2000L);
+        ReflectionTestUtils.setField(cache, "readTimeoutMillis", 3000L);
+        cache.init();
+        // Stands in for a slow issuer: the fetch queues behind a task that does not finish
+        CountDownLatch issuerAnswers = new CountDownLatch(1);
+        ((ExecutorService) ReflectionTestUtils.getField(cache, "fetcher")).execute(() -> {
+            try {
+                issuerAnswers.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(1), cache::refresh);
+        } finally {
+            issuerAnswers.countDown();
+            cache.shutdown();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.hospital.auth.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.hospital.auth.util.VerifiedToken;
+
+import io.jsonwebtoken.Jwts;
+
+class TokenRevocationRegistryTests {
+
+    private final TokenRevocationRegistry registry = new TokenRevocationRegistry();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(registry, "expectedInsertions", 1000);
+        ReflectionTestUtils.setField(registry, "falsePositiveRate", 0.01);
+        registry.init();
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.add("jti-" + i));
+
+        assertThat(IntStream.range(0, 10_000)).allMatch(i -> filter.mightContain("jti-" + i));
+    }
+
+    @Test
+    void bloomFilterFalsePositivesStayNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.add("jti-" + i));
+
+        long falsePositives = IntStream.range(0, 100_000).filter(i -> filter.mightContain("other-" + i)).count();
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void revokedTokenIsReportedAndOthersAreNot() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        registry.revoke("revoked", expiresAt);
+
+        assertThat(registry.isRevoked(token("revoked", expiresAt))).isTrue();
+        assertThat(registry.isRevoked(token("active", expiresAt))).isFalse();
+        assertThat(registry.isRevoked(token(null, expiresAt))).isFalse();
+    }
+
+    @Test
+    void pruneDropsExpiredRevocationsAndKeepsTheRest() {
+        long now = System.currentTimeMillis();
+        registry.revoke("expired", now - 1);
+        registry.revoke("live", now + 60_000);
+
+        registry.pruneExpired();
+
+        assertThat(registry.size()).isEqualTo(1);
+        assertThat(registry.isRevoked(token("expired", now - 1))).isFalse();
+        assertThat(registry.isRevoked(token("live", now + 60_000))).isTrue();
+    }
+
+    private static VerifiedToken token(String tokenId, long expiresAtMillis) {
+        return new VerifiedToken("alice", expiresAtMillis, Jwts.claims().setSubject("alice").setId(tokenId));
+    }
+}
@@ -0,0 +1,76 @@
+package com.hospital.auth.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.hospital.auth.util.JwtUtil;
+import com.hospital.auth.util.VerifiedToken;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VerifiedTokenCacheTests {
+
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+    private final VerifiedTokenCache cache = new VerifiedTokenCache();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        cache.init();
+    }
+
+    @Test
+    void repeatedTokenIsVerifiedOnce() {
+        when(jwtUtil.verify("token")).thenReturn(token("alice", System.currentTimeMillis() + 60_000));
+
+        assertThat(cache.verify("token").getSubject()).isEqualTo("alice");
+        assertThat(cache.verify("token").getSubject()).isEqualTo("alice");
+        verify(jwtUtil, times(1)).verify("token");
+    }
+
+    @Test
+    void cachedTokenIsRejectedOnceItsExpHasPassed() throws InterruptedException {
+        when(jwtUtil.verify("token")).thenReturn(token("alice", System.currentTimeMillis() + 150));
+
+        cache.verify("token");
+        Thread.sleep(250);
+
+        assertThatThrownBy(() -> cache.verify("token")).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void alreadyExpiredTokenIsNotKept() {
+        when(jwtUtil.verify("token")).thenReturn(token("alice", System.currentTimeMillis() - 1));
+
+        assertThatThrownBy(() -> cache.verify("token")).isInstanceOf(ExpiredJwtException.class);
+        assertThatThrownBy(() -> cache.verify("token")).isInstanceOf(ExpiredJwtException.class);
+        verify(jwtUtil, times(2)).verify("token");
+    }
+
+    @Test
+    void invalidateForcesReverification() {
+        when(jwtUtil.verify("token")).thenReturn(token("alice", System.currentTimeMillis() + 60_000));
+
+        cache.verify("token");
+        cache.invalidate("token");
+        cache.verify("token");
+
+        verify(jwtUtil, times(2)).verify("token");
+    }
+
+    private static VerifiedToken token(String subject, long expiresAtMillis) {
+        return new VerifiedToken(subject, expiresAtMillis, Jwts.claims().setSubject(subject));
+    }
+}
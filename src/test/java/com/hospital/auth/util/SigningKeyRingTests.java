@@ -0,0 +1,127 @@
+package com.hospital.auth.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SigningKeyRingTests {
+
+    @Test
+    void configuredKeyGivesEveryInstanceTheSameKid() throws GeneralSecurityException {
+        String active = pem(generate());
+        SigningKeyRing issuer = ring(active, "", false);
+        SigningKeyRing verifier = ring(active, "", false);
+
+        SigningKeyRing.SigningKey key = issuer.current();
+        assertThat(verifier.current().getKid()).isEqualTo(key.getKid());
+        assertThat(verify(verifier, key.getKid(), sign(key))).isTrue();
+    }
+
+    @Test
+    void previousKeyStillVerifiesButDoesNotSign() throws GeneralSecurityException {
+        String previous = pem(generate());
+        SigningKeyRing.SigningKey oldKey = ring(previous, "", false).current();
+
+        SigningKeyRing rotated = ring(pem(generate()), previous, false);
+
+        assertThat(rotated.current().getKid()).isNotEqualTo(oldKey.getKid());
+        assertThat(verify(rotated, oldKey.getKid(), sign(oldKey))).isTrue();
+        assertThat(rotated.jwks()).hasSize(2);
+    }
+
+    @Test
+    void escapedNewlinesAreAccepted() throws GeneralSecurityException {
+        String active = pem(generate());
+
+        assertThat(ring(active.replace("\n", "\\n"), "", false).current().getKid())
+                .isEqualTo(ring(active, "", false).current().getKid());
+    }
+
+    @Test
+    void configuredKeysAreNotRotated() throws GeneralSecurityException {
+        SigningKeyRing ring = ring(pem(generate()), "", true);
+        String kid = ring.current().getKid();
+
+        ring.rotate();
+
+        assertThat(ring.current().getKid()).isEqualTo(kid);
+    }
+
+    @Test
+    void mismatchedHalvesAreRejected() throws GeneralSecurityException {
+        KeyPair one = generate();
+        KeyPair other = generate();
+        String mixed = block("PRIVATE KEY", one.getPrivate().getEncoded())
+                + block("PUBLIC KEY", other.getPublic().getEncoded());
+
+        assertThatThrownBy(() -> ring(mixed, "", false)).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("do not match");
+    }
+
+    @Test
+    void missingKeyFailsUnlessGeneratingOrVerifyOnly() {
+        assertThatThrownBy(() -> ring("", "", false)).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("JWT_SIGNING_KEY");
+        assertThat(ring("", "", true).current()).isNotNull();
+
+        SigningKeyRing verifyOnly = new SigningKeyRing();
+        configure(verifyOnly, "", "", false);
+        ReflectionTestUtils.setField(verifyOnly, "jwksUri", "https://issuer.example/jwks.json");
+        verifyOnly.init();
+        assertThatThrownBy(verifyOnly::current).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static SigningKeyRing ring(String activeKey, String previousKey, boolean generateOnBoot) {
+        SigningKeyRing ring = new SigningKeyRing();
+        configure(ring, activeKey, previousKey, generateOnBoot);
+        ring.init();
+        return ring;
+    }
+
+    private static void configure(SigningKeyRing ring, String activeKey, String previousKey,
+            boolean generateOnBoot) {
+        ReflectionTestUtils.setField(ring, "expiration", 60_000L);
+        ReflectionTestUtils.setField(ring, "activeKey", activeKey);
+        ReflectionTestUtils.setField(ring, "previousKey", previousKey);
+        ReflectionTestUtils.setField(ring, "generateOnBoot", generateOnBoot);
+        ReflectionTestUtils.setField(ring, "jwksUri", "");
+    }
+
+    private static KeyPair generate() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(Jwks.p256Parameters());
+        return generator.generateKeyPair();
+    }
+
+    private static String pem(KeyPair pair) {
+        return block("PRIVATE KEY", pair.getPrivate().getEncoded()) + block("PUBLIC KEY", pair.getPublic().getEncoded());
+    }
+
+    private static String block(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n" + Base64.getMimeEncoder(64, new byte[] { '\n' }).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+
+    private static byte[] sign(SigningKeyRing.SigningKey key) throws GeneralSecurityException {
+        Signature signer = Signature.getInstance("SHA256withECDSA");
+        signer.initSign(key.getPrivateKey());
+        signer.update("payload".getBytes(StandardCharsets.US_ASCII));
+        return signer.sign();
+    }
+
+    private static boolean verify(SigningKeyRing ring, String kid, byte[] signature) throws GeneralSecurityException {
+        Signature verifier = Signature.getInstance("SHA256withECDSA");
+        verifier.initVerify(ring.publicKey(kid));
+        verifier.update("payload".getBytes(StandardCharsets.US_ASCII));
+        return verifier.verify(signature);
+    }
+}
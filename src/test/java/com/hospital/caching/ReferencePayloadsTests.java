@@ -0,0 +1,116 @@
+package com.hospital.caching;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ReferencePayloadsTests {
+
+    private final ReferencePayloads payloads = new ReferencePayloads();
+
+    private final AtomicLong version = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(payloads, "objectMapper", new ObjectMapper());
+        payloads.register("insurers", version::get, () -> List.of("Medifund", "CareShield"));
+    }
+
+    @Test
+    void servesPlainJsonWithoutAcceptEncoding() throws IOException {
+        MockHttpServletResponse response = get(null, null);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getContentAsString()).isEqualTo("[\"Medifund\",\"CareShield\"]");
+    }
+
+    @Test
+    void gzipCarriesItsOwnEtag() throws IOException {
+        MockHttpServletResponse plain = get(null, null);
+        MockHttpServletResponse gzip = get("gzip, deflate, br", null);
+
+        assertThat(gzip.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzip.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gunzip(gzip.getContentAsByteArray())).isEqualTo(plain.getContentAsString());
+        String etag = plain.getHeader(HttpHeaders.ETAG);
+        assertThat(gzip.getHeader(HttpHeaders.ETAG))
+                .isEqualTo(etag.substring(0, etag.length() - 1) + "-gz\"");
+    }
+
+    @Test
+    void zeroQualityRefusesGzip() throws IOException {
+        assertThat(get("gzip;q=0", null).getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(get("identity, gzip; q=0.0", null).getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(get("*;q=0.5, gzip;q=0", null).getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(get("br, *", null).getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(get("gzip;q=0.2", null).getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    }
+
+    @Test
+    void matchingTagsGetNotModified() throws IOException {
+        String etag = get(null, null).getHeader(HttpHeaders.ETAG);
+
+        assertThat(get(null, etag).getStatus()).isEqualTo(304);
+        assertThat(get(null, "\"stale\", " + etag).getStatus()).isEqualTo(304);
+        assertThat(get(null, "W/" + etag).getStatus()).isEqualTo(304);
+        assertThat(get(null, "*").getStatus()).isEqualTo(304);
+        assertThat(get(null, "\"stale\"").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void tagsOfTheOtherEncodingDoNotMatch() throws IOException {
+        String plainEtag = get(null, null).getHeader(HttpHeaders.ETAG);
+        String gzipEtag = get("gzip", null).getHeader(HttpHeaders.ETAG);
+
+        assertThat(get("gzip", gzipEtag).getStatus()).isEqualTo(304);
+        assertThat(get("gzip", plainEtag).getStatus()).isEqualTo(200);
+        assertThat(get(null, gzipEtag).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void versionBumpChangesTheEtag() throws IOException {
+        String etag = get(null, null).getHeader(HttpHeaders.ETAG);
+        payloads.register("insurers", version::get, () -> List.of("Medifund"));
+        version.incrementAndGet();
+
+        MockHttpServletResponse response = get(null, etag);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    private MockHttpServletResponse get(String acceptEncoding, String ifNoneMatch) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/insurers");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        payloads.write("insurers", request, response);
+        return response;
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.hospital.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+class StartupReloaderTests {
+
+    @Test
+    void everyProjectionLoadsInItsOwnReadOnlyTransaction() {
+        List<String> loaded = new ArrayList<>();
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        StartupReloader reloader = new StartupReloader();
+        ReflectionTestUtils.setField(reloader, "projections",
+                List.<Reloadable>of(() -> loaded.add("catalog"), () -> loaded.add("calendar")));
+        ReflectionTestUtils.setField(reloader, "transactionManager", transactionManager);
+
+        reloader.afterSingletonsInstantiated();
+
+        assertThat(loaded).containsExactly("catalog", "calendar");
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(2)).getTransaction(definitions.capture());
+        assertThat(definitions.getAllValues()).allMatch(TransactionDefinition::isReadOnly);
+        verify(transactionManager, times(2)).commit(any());
+    }
+}
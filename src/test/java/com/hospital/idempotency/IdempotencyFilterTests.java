@@ -0,0 +1,171 @@
+package com.hospital.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.http.HttpServletResponse;
+
+class IdempotencyFilterTests {
+
+    private final IdempotencyFilter filter = new IdempotencyFilter();
+
+    private final IdempotencyProperties properties = new IdempotencyProperties();
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private String responseBody = "{\"claimId\":1}";
+
+    private int responseStatus = 201;
+
+    // Stands in for the controller: counts executions and writes the configured response
+    private final FilterChain chain = (request, response) -> {
+        executions.incrementAndGet();
+        request.getInputStream().readAllBytes();
+        ((HttpServletResponse) response).setStatus(responseStatus);
+        response.setContentType("application/json");
+        response.getOutputStream().write(responseBody.getBytes(StandardCharsets.UTF_8));
+    };
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyProperties.Route route = new IdempotencyProperties.Route();
+        route.setName("initiate-claim");
+        route.setMethod("POST");
+        route.setPattern("/insurance/InitiateClaim");
+        properties.setRoutes(List.of(route));
+        properties.setInFlightWaitSeconds(1);
+        properties.setMaxResponseBytes(64);
+        ReflectionTestUtils.setField(filter, "properties", properties);
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        filter.init();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, AuthorityUtils.NO_AUTHORITIES));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void retryWithTheSameBodyReplaysTheFirstResponse() throws Exception {
+        MockHttpServletResponse first = post("key-1", "{\"cost\":100}");
+        MockHttpServletResponse retry = post("key-1", "{\"cost\":100}");
+
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void reusingAKeyForADifferentBodyIsRejected() throws Exception {
+        post("key-1", "{\"cost\":100}");
+        MockHttpServletResponse conflicting = post("key-1", "{\"cost\":999}");
+
+        assertThat(conflicting.getStatus()).isEqualTo(422);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void failuresAreForgottenSoTheClientCanRetry() throws Exception {
+        responseStatus = 500;
+        post("key-1", "{\"cost\":100}");
+        responseStatus = 201;
+        MockHttpServletResponse retry = post("key-1", "{\"cost\":100}");
+
+        assertThat(executions).hasValue(2);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void keysAreScopedToTheCaller() throws Exception {
+        post("key-1", "{\"cost\":100}");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("bob", null, AuthorityUtils.NO_AUTHORITIES));
+        post("key-1", "{\"cost\":999}");
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void oversizedResponsesAreNotKeptButStillBlockASecondExecution() throws Exception {
+        responseBody = "{\"plans\":\"" + "x".repeat(100) + "\"}";
+        MockHttpServletResponse first = post("key-1", "{\"cost\":100}");
+        MockHttpServletResponse retry = post("key-1", "{\"cost\":100}");
+
+        assertThat(first.getContentAsString()).isEqualTo(responseBody);
+        assertThat(retry.getStatus()).isEqualTo(409);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void storedBodiesAreBoundedByWeight() throws Exception {
+        properties.setMaxStoredBytes(4096);
+        filter.init();
+        for (int i = 0; i < 50; i++) {
+            post("key-" + i, "{\"cost\":100}");
+        }
+
+        Cache<String, ?> store = (Cache<String, ?>) ReflectionTestUtils.getField(filter, "executions");
+        store.cleanUp();
+        assertThat(store.policy().eviction().orElseThrow().weightedSize().getAsLong()).isLessThanOrEqualTo(4096);
+        assertThat(store.estimatedSize()).isLessThan(50);
+    }
+
+    @Test
+    void nonBlockingReadersSeeTheWholeBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/insurance/InitiateClaim");
+        CachedBodyRequest cached = new CachedBodyRequest(request, "{}".getBytes(StandardCharsets.UTF_8));
+        AtomicInteger events = new AtomicInteger();
+
+        cached.getInputStream().setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() {
+                events.incrementAndGet();
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.incrementAndGet();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+        });
+
+        assertThat(events).hasValue(2);
+    }
+
+    private MockHttpServletResponse post(String key, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/insurance/InitiateClaim");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
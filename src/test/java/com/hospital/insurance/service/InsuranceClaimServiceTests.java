@@ -0,0 +1,64 @@
+package com.hospital.insurance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.hospital.caching.ResourceVersions;
+import com.hospital.insurance.dto.ClaimInitiationRequest;
+import com.hospital.insurance.entity.ClaimRequest;
+import com.hospital.insurance.entity.Insurer;
+import com.hospital.insurance.repository.ClaimRequestRepository;
+import com.hospital.insurance.repository.InsurerRepository;
+import com.hospital.stats.DashboardStats;
+
+class InsuranceClaimServiceTests {
+
+    private final InsuranceClaimService service = new InsuranceClaimService();
+
+    private final AtomicLong ids = new AtomicLong(41);
+
+    @BeforeEach
+    void setUp() {
+        InsurerRepository insurerRepository = mock(InsurerRepository.class);
+        when(insurerRepository.findByInsurerName("Star Health"))
+                .thenReturn(Optional.of(new Insurer("Star Health", "Orthopaedics Premium", 3500.0, 10)));
+        ClaimRequestRepository claimRequestRepository = mock(ClaimRequestRepository.class);
+        when(claimRequestRepository.save(any(ClaimRequest.class))).thenAnswer(invocation -> {
+            ClaimRequest claim = invocation.getArgument(0);
+            claim.setId(ids.incrementAndGet());
+            return claim;
+        });
+        ReflectionTestUtils.setField(service, "insurerRepository", insurerRepository);
+        ReflectionTestUtils.setField(service, "claimRequestRepository", claimRequestRepository);
+        ReflectionTestUtils.setField(service, "dashboardStats", mock(DashboardStats.class));
+        ReflectionTestUtils.setField(service, "resourceVersions", mock(ResourceVersions.class));
+    }
+
+    @Test
+    void referenceEndsWithTheClaimId() {
+        String reference = service.initiateClaim(request()).getClaimReferenceNumber();
+
+        assertThat(reference).matches("MF-STA-\\d{14}-000042");
+    }
+
+    @Test
+    void claimsInTheSameSecondGetDistinctReferences() {
+        String first = service.initiateClaim(request()).getClaimReferenceNumber();
+        String second = service.initiateClaim(request()).getClaimReferenceNumber();
+
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    private static ClaimInitiationRequest request() {
+        return new ClaimInitiationRequest("Asha", "Fracture", "Orthopaedics Premium", "Star Health", 5000.0);
+    }
+}
@@ -0,0 +1,104 @@
+package com.hospital.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitFilterTests {
+
+    private final RateLimitFilter filter = new RateLimitFilter();
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setName("claims");
+        route.setMethod("POST");
+        route.setPattern("/claims");
+        route.setCapacity(2);
+        route.setRefillPerMinute(1);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setAddressCapacityMultiplier(3);
+        properties.setRoutes(List.of(route));
+        ReflectionTestUtils.setField(filter, "properties", properties);
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        filter.init();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void subjectMintedElsewhereCannotDrainTheVictimsBucket() throws Exception {
+        assertThat(call("alice", "10.0.0.66")).isEqualTo(200);
+        assertThat(call("alice", "10.0.0.66")).isEqualTo(200);
+        assertThat(call("alice", "10.0.0.66")).isEqualTo(429);
+
+        assertThat(call("alice", "10.0.0.1")).isEqualTo(200);
+    }
+
+    @Test
+    void freshSubjectsFromOneAddressShareItsCeiling() throws Exception {
+        int admitted = 0;
+        for (int i = 0; i < 20; i++) {
+            if (call("user-" + i, "10.0.0.66") == 200) {
+                admitted++;
+            }
+        }
+        assertThat(admitted).isEqualTo(6);
+    }
+
+    @Test
+    void anonymousClientsAreKeyedByAddress() throws Exception {
+        assertThat(anonymousCall("10.0.0.1")).isEqualTo(200);
+        assertThat(anonymousCall("10.0.0.1")).isEqualTo(200);
+        assertThat(anonymousCall("10.0.0.1")).isEqualTo(429);
+
+        assertThat(anonymousCall("10.0.0.2")).isEqualTo(200);
+    }
+
+    @Test
+    void otherRoutesAreNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/claims");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+    }
+
+    private int call(String subject, String address) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(subject, null, AuthorityUtils.NO_AUTHORITIES));
+        return post(address);
+    }
+
+    private int anonymousCall(String address) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken("key",
+                "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        return post(address);
+    }
+
+    private int post(String address) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/claims");
+        request.setRemoteAddr(address);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,42 @@
+package com.hospital.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTests {
+
+    private static final long INTERVAL = 1_000;
+
+    @Test
+    void admitsABurstUpToCapacityThenReportsTheWait() {
+        TokenBucket bucket = new TokenBucket(3, INTERVAL, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(INTERVAL);
+        assertThat(bucket.tryAcquire(400)).isEqualTo(INTERVAL - 400);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(2, INTERVAL, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        assertThat(bucket.tryAcquire(INTERVAL)).isZero();
+        assertThat(bucket.tryAcquire(INTERVAL)).isPositive();
+        assertThat(bucket.tryAcquire(2 * INTERVAL)).isZero();
+    }
+
+    @Test
+    void idleTimeNeverBanksMoreThanCapacity() {
+        TokenBucket bucket = new TokenBucket(2, INTERVAL, 0);
+        long later = 100 * INTERVAL;
+
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+}
@@ -0,0 +1,73 @@
+package com.hospital.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hospital.insurance.repository.ClaimRequestRepository;
+import com.hospital.stats.DashboardStats.Dimension;
+import com.hospital.treatment.service.repository.PatientDetailRepository;
+
+class DashboardStatsTests {
+
+    private final DashboardStats stats = new DashboardStats();
+
+    @BeforeEach
+    void setUp() {
+        PatientDetailRepository patientRepository = mock(PatientDetailRepository.class);
+        ClaimRequestRepository claimRequestRepository = mock(ClaimRequestRepository.class);
+        when(patientRepository.countGroupedByTreatmentStatus()).thenReturn(List.<Object[]>of(
+                new Object[] { "ACTIVE", 3L }, new Object[] { "COMPLETED", 2L }));
+        when(patientRepository.countGroupedByTreatmentPackageName()).thenReturn(List.<Object[]>of(
+                new Object[] { "Package 1", 5L }));
+        ReflectionTestUtils.setField(stats, "patientRepository", patientRepository);
+        ReflectionTestUtils.setField(stats, "claimRequestRepository", claimRequestRepository);
+        stats.reload();
+    }
+
+    @Test
+    void reloadFillsTheCountersFromAggregates() {
+        assertThat(stats.snapshot(Dimension.TREATMENT_STATUS)).isEqualTo(Map.of("ACTIVE", 3L, "COMPLETED", 2L));
+        assertThat(stats.total(Dimension.TREATMENT_PACKAGE)).isEqualTo(5);
+        assertThat(stats.total(Dimension.CLAIM_STATUS)).isZero();
+    }
+
+    @Test
+    void changesApplyOnlyOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            stats.patientStatusChanged("ACTIVE", "COMPLETED");
+            assertThat(stats.snapshot(Dimension.TREATMENT_STATUS)).containsEntry("ACTIVE", 3L);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(stats.snapshot(Dimension.TREATMENT_STATUS)).isEqualTo(Map.of("ACTIVE", 2L, "COMPLETED", 3L));
+    }
+
+    @Test
+    void rolledBackChangesAreDropped() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            stats.claimAdded("PENDING", "Medifund");
+            TransactionSynchronizationManager.getSynchronizations().forEach(
+                    sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(stats.total(Dimension.CLAIM_STATUS)).isZero();
+        assertThat(stats.total(Dimension.CLAIM_INSURER)).isZero();
+    }
+}
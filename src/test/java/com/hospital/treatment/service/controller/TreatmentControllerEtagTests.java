@@ -0,0 +1,84 @@
+package com.hospital.treatment.service.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.hospital.caching.ResourceVersions;
+import com.hospital.treatment.service.dto.TreatmentPlanResponse;
+import com.hospital.treatment.service.service.TreatmentTimetableService;
+
+class TreatmentControllerEtagTests {
+
+    private final TreatmentController controller = new TreatmentController();
+
+    private final TreatmentTimetableService treatmentService = mock(TreatmentTimetableService.class);
+
+    private final ResourceVersions resourceVersions = new ResourceVersions();
+
+    @BeforeEach
+    void setUp() {
+        when(treatmentService.getTreatmentPlan(7L)).thenReturn(new TreatmentPlanResponse());
+        when(treatmentService.getTreatmentPlan(8L)).thenReturn(new TreatmentPlanResponse());
+        ReflectionTestUtils.setField(controller, "treatmentService", treatmentService);
+        ReflectionTestUtils.setField(controller, "resourceVersions", resourceVersions);
+    }
+
+    @Test
+    void matchingEtagIsAnswered304WithoutLoadingThePlan() {
+        String etag = get(7L, null).getHeaders().getETag();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(controller.getTreatmentPlan(7L, conditional(etag, response))).isNull();
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        verify(treatmentService, times(1)).getTreatmentPlan(7L);
+    }
+
+    @Test
+    void changingThePlanInvalidatesOnlyItsEtag() {
+        String seven = get(7L, null).getHeaders().getETag();
+        String eight = get(8L, null).getHeaders().getETag();
+
+        resourceVersions.bumpEntities(ResourceVersions.TREATMENT_PLAN, List.of(7L));
+
+        assertThat(get(7L, seven).getStatusCode().value()).isEqualTo(200);
+        assertThat(get(8L, eight)).isNull();
+    }
+
+    @Test
+    void packageChangeInvalidatesEveryPlanEtag() {
+        String seven = get(7L, null).getHeaders().getETag();
+        String eight = get(8L, null).getHeaders().getETag();
+
+        resourceVersions.bump(ResourceVersions.TREATMENT_PLAN);
+
+        assertThat(get(7L, seven).getStatusCode().value()).isEqualTo(200);
+        assertThat(get(8L, eight).getStatusCode().value()).isEqualTo(200);
+    }
+
+    private ResponseEntity<TreatmentPlanResponse> get(Long patientId, String ifNoneMatch) {
+        return controller.getTreatmentPlan(patientId, conditional(ifNoneMatch, new MockHttpServletResponse()));
+    }
+
+    private static ServletWebRequest conditional(String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/IPTreatment/treatment-plan");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, response);
+    }
+}
@@ -0,0 +1,152 @@
+package com.hospital.treatment.service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hospital.treatment.service.repository.TreatmentPlanRepository;
+
+class OccupancyForecastTests {
+
+    private final OccupancyForecast forecast = new OccupancyForecast();
+
+    private final TreatmentPlanRepository repository = mock(TreatmentPlanRepository.class);
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(forecast, "treatmentPlanRepository", repository);
+    }
+
+    @Test
+    void planCountsFromItsStartThroughItsEnd() {
+        forecast.onStatusChange(span("Oncology", 1L, 1, 3), null, "ACTIVE");
+        forecast.onStatusChange(span("Oncology", 2L, 2, 5), null, "ACTIVE");
+
+        assertThat(specialization(7)).containsExactly(0, 1, 2, 2, 1, 1, 0);
+        assertThat(specialist(7, 1L)).containsExactly(0, 1, 1, 1, 0, 0, 0);
+    }
+
+    @Test
+    void leavingAnActiveStatusRemovesThePlan() {
+        OccupancyForecast.Span span = span("Oncology", 1L, 0, 2);
+        forecast.onStatusChange(span, null, "ACTIVE");
+        forecast.onStatusChange(span, "ACTIVE", "IN_PROGRESS");
+        assertThat(specialization(4)).containsExactly(1, 1, 1, 0);
+
+        forecast.onStatusChange(span, "IN_PROGRESS", "COMPLETED");
+
+        assertThat(specialization(4)).containsExactly(0, 0, 0, 0);
+    }
+
+    @Test
+    void changesWaitForTheCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            forecast.onStatusChange(span("Oncology", 1L, 0, 1), null, "ACTIVE");
+            assertThat(series("specializations")).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(specialization(3)).containsExactly(1, 1, 0);
+    }
+
+    @Test
+    void advancingFoldsElapsedDaysIntoToday() {
+        forecast.onStatusChange(span("Oncology", 1L, 0, 4), null, "ACTIVE");
+        forecast.onStatusChange(span("Oncology", 2L, 0, 1), null, "ACTIVE");
+        forecast.onStatusChange(span("Oncology", 3L, 3, 3), null, "ACTIVE");
+
+        forecast.advance(today.plusDays(2));
+
+        assertThat(forecast.forecast(4, null, null).get("from")).isEqualTo(today.plusDays(2));
+        assertThat(specialization(4)).containsExactly(1, 2, 1, 0);
+        assertThat(specialist(4, 2L)).containsExactly(0, 0, 0, 0);
+    }
+
+    @Test
+    void advancingPastTheArrayClearsIt() {
+        forecast.onStatusChange(span("Oncology", 1L, 0, 10), null, "ACTIVE");
+
+        forecast.advance(today.plusDays(OccupancyForecast.MAX_SPAN_DAYS + 1));
+
+        assertThat(specialization(3)).containsExactly(0, 0, 0);
+    }
+
+    @Test
+    void farEndsAreClampedToTheTrackedSpan() {
+        int last = OccupancyForecast.MAX_SPAN_DAYS;
+        forecast.onStatusChange(span("Oncology", 1L, 400, last + 100), null, "ACTIVE");
+        forecast.onStatusChange(span("Oncology", 2L, last + 1, last + 5), null, "ACTIVE");
+        forecast.onStatusChange(span("Oncology", 3L, -10, -1), null, "ACTIVE");
+
+        int[] occupancy = specialization(last + 10);
+        assertThat(occupancy[399]).isZero();
+        assertThat(occupancy[400]).isEqualTo(1);
+        assertThat(occupancy[last - 1]).isEqualTo(1);
+        assertThat(occupancy[last + 9]).isEqualTo(1);
+        assertThat(series("specialists")).hasSize(1);
+    }
+
+    @Test
+    void filtersNarrowTheSeries() {
+        forecast.onStatusChange(span("Oncology", 1L, 0, 1), null, "ACTIVE");
+        forecast.onStatusChange(span("Cardiology", 2L, 0, 1), null, "ACTIVE");
+
+        assertThat(list(forecast.forecast(2, "oncology", null), "specializations")).hasSize(1);
+        assertThat(list(forecast.forecast(2, "oncology", null), "specialists")).hasSize(1);
+        assertThat(list(forecast.forecast(2, null, 2L), "specializations")).hasSize(2);
+        assertThat(list(forecast.forecast(2, null, 2L), "specialists")).hasSize(1);
+    }
+
+    @Test
+    void reloadCountsActivePlans() {
+        when(repository.findActiveSpansEndingOnOrAfter(any())).thenReturn(List.<Object[]>of(
+                new Object[] { "Oncology", 1L, "Dr. Rao", today.minusDays(3), today.plusDays(1) },
+                new Object[] { "Oncology", 2L, "Dr. Iyer", today.plusDays(1), today.plusDays(2) }));
+
+        forecast.reload();
+
+        assertThat(specialization(4)).containsExactly(1, 2, 1, 0);
+        assertThat(series("specialists").get(0).get("specialistName")).isEqualTo("Dr. Rao");
+    }
+
+    private OccupancyForecast.Span span(String specialization, Long specialistId, int startDay, int endDay) {
+        return new OccupancyForecast.Span(specialization, specialistId, "Specialist " + specialistId,
+                today.plusDays(startDay), today.plusDays(endDay));
+    }
+
+    private int[] specialization(int days) {
+        List<Map<String, Object>> series = list(forecast.forecast(days, null, null), "specializations");
+        assertThat(series).hasSize(1);
+        return (int[]) series.get(0).get("occupancy");
+    }
+
+    private int[] specialist(int days, Long specialistId) {
+        return (int[]) list(forecast.forecast(days, null, specialistId), "specialists").get(0).get("occupancy");
+    }
+
+    private List<Map<String, Object>> series(String key) {
+        return list(forecast.forecast(1, null, null), key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> list(Map<String, Object> forecast, String key) {
+        return (List<Map<String, Object>>) forecast.get(key);
+    }
+}
@@ -0,0 +1,92 @@
+package com.hospital.treatment.service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hospital.treatment.service.repository.PatientDetailRepository;
+
+class PatientSearchIndexTests {
+
+    private final PatientSearchIndex index = new PatientSearchIndex();
+
+    @BeforeEach
+    void setUp() {
+        PatientDetailRepository patientRepository = mock(PatientDetailRepository.class);
+        when(patientRepository.streamSearchFields()).thenReturn(Stream.of(
+                new Object[] { 1L, "Aarav Sharma", "Knee ligament tear" },
+                new Object[] { 2L, "Priya Nair", "Kidney stones" },
+                new Object[] { 3L, "Rohan Sharma", "Fractured wrist" },
+                new Object[] { 4L, "José Müller", "Kidney infection" }));
+        ReflectionTestUtils.setField(index, "patientRepository", patientRepository);
+        index.reload();
+    }
+
+    @Test
+    void substringMatchesRankAboveFuzzyOnes() {
+        assertThat(ids(index.search("sharma", PatientSearchIndex.FIELD_NAME, 10))).containsExactly(1L, 3L);
+        assertThat(ids(index.search("kidney", PatientSearchIndex.FIELD_AILMENT, 10))).containsExactlyInAnyOrder(2L,
+                4L);
+        assertThat(index.search("sharma", PatientSearchIndex.FIELD_AILMENT, 10)).isEmpty();
+    }
+
+    @Test
+    void toleratesATypoAndFoldsAccents() {
+        assertThat(ids(index.search("sharna", PatientSearchIndex.FIELD_NAME, 10))).contains(1L, 3L);
+        assertThat(ids(index.search("jose muller", PatientSearchIndex.FIELD_ANY, 10))).containsExactly(4L);
+    }
+
+    @Test
+    void exactMatchScoresHigherAndLimitApplies() {
+        List<PatientSearchIndex.Hit> hits = index.search("kidney stones", PatientSearchIndex.FIELD_ANY, 1);
+
+        assertThat(ids(hits)).containsExactly(2L);
+        assertThat(hits.get(0).getMatchedField()).isEqualTo(PatientSearchIndex.FIELD_AILMENT);
+        assertThat(hits.get(0).getScore()).isGreaterThan(1);
+    }
+
+    @Test
+    void changesBecomeVisibleOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.index(5L, "Meera Iyer", "Torn rotator cuff");
+            index.index(3L, "Rohan Kapoor", "Fractured wrist");
+            assertThat(index.search("iyer", PatientSearchIndex.FIELD_NAME, 10)).isEmpty();
+            assertThat(ids(index.search("sharma", PatientSearchIndex.FIELD_NAME, 10))).contains(3L);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(ids(index.search("iyer", PatientSearchIndex.FIELD_NAME, 10))).containsExactly(5L);
+        assertThat(ids(index.search("sharma", PatientSearchIndex.FIELD_NAME, 10))).containsExactly(1L);
+        assertThat(ids(index.search("kapoor", PatientSearchIndex.FIELD_NAME, 10))).containsExactly(3L);
+    }
+
+    @Test
+    void rolledBackChangesAreNeverIndexed() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.index(5L, "Meera Iyer", "Torn rotator cuff");
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(index.search("iyer", PatientSearchIndex.FIELD_NAME, 10)).isEmpty();
+        assertThat(index.search("rotator", PatientSearchIndex.FIELD_AILMENT, 10)).isEmpty();
+    }
+
+    private static List<Long> ids(List<PatientSearchIndex.Hit> hits) {
+        return hits.stream().map(PatientSearchIndex.Hit::getPatientId).toList();
+    }
+}
@@ -0,0 +1,107 @@
+package com.hospital.treatment.service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hospital.treatment.offering.entity.Specialist;
+import com.hospital.treatment.offering.repository.SpecialistRepository;
+import com.hospital.treatment.service.repository.TreatmentPlanRepository;
+
+class SpecialistAssignmentEngineTests {
+
+    private static final List<Long> IDS = List.of(1L, 2L, 3L);
+
+    private final SpecialistAssignmentEngine engine = new SpecialistAssignmentEngine();
+
+    @BeforeEach
+    void setUp() {
+        SpecialistRepository specialistRepository = mock(SpecialistRepository.class);
+        TreatmentPlanRepository treatmentPlanRepository = mock(TreatmentPlanRepository.class);
+        List<Specialist> specialists = new ArrayList<>();
+        for (Long id : IDS) {
+            Specialist specialist = new Specialist("Dr " + id, "Orthopaedics", "SENIOR", "MS", 10, "555-0100",
+                    "dr" + id + "@example.com");
+            specialist.setId(id);
+            specialists.add(specialist);
+        }
+        when(specialistRepository.findAll()).thenReturn(specialists);
+        when(treatmentPlanRepository.countActivePlansBySpecialist()).thenReturn(List.of());
+        ReflectionTestUtils.setField(engine, "specialistRepository", specialistRepository);
+        ReflectionTestUtils.setField(engine, "treatmentPlanRepository", treatmentPlanRepository);
+        engine.reload();
+    }
+
+    @Test
+    void concurrentAssignmentsKeepLoadsLevel() throws Exception {
+        int threads = 8;
+        int perThread = 5_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> done = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            done.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    engine.assign("orthopaedics", "senior");
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : done) {
+            future.get();
+        }
+        pool.shutdown();
+
+        List<Integer> loads = IDS.stream().map(engine::activePlans).toList();
+        assertThat(loads.stream().mapToInt(Integer::intValue).sum()).isEqualTo(threads * perThread);
+        int max = loads.stream().mapToInt(Integer::intValue).max().getAsInt();
+        int min = loads.stream().mapToInt(Integer::intValue).min().getAsInt();
+        assertThat(max - min).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void excludedSpecialistsAreSkippedAndReleaseGivesTheSlotBack() {
+        Long first = engine.assign("Orthopaedics", "SENIOR").getId();
+        engine.release(first);
+
+        Long second = engine.assign("Orthopaedics", "SENIOR", Set.of(first)).getId();
+
+        assertThat(second).isNotEqualTo(first);
+        assertThat(engine.activePlans(first)).isZero();
+        assertThat(engine.activePlans(second)).isEqualTo(1);
+        assertThatThrownBy(() -> engine.assign("Orthopaedics", "SENIOR", Set.copyOf(IDS)))
+                .hasMessageContaining("No specialist available");
+    }
+
+    @Test
+    void rollbackReleasesTheReservedSlot() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            Long id = engine.assign("Orthopaedics", "SENIOR").getId();
+            assertThat(engine.activePlans(id)).isEqualTo(1);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            assertThat(engine.activePlans(id)).isZero();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.hospital.treatment.service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hospital.treatment.service.entity.TreatmentPlan;
+import com.hospital.treatment.service.entity.TreatmentSession;
+
+class SpecialistCalendarTests {
+
+    private static final LocalDate MONDAY = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+    private final SpecialistCalendar calendar = new SpecialistCalendar();
+
+    @BeforeEach
+    void setUp() {
+        // Two 30-minute slots a day, ten a working week
+        ReflectionTestUtils.setField(calendar, "dayStartValue", "09:00");
+        ReflectionTestUtils.setField(calendar, "dayEndValue", "10:00");
+        ReflectionTestUtils.setField(calendar, "durationMinutes", 30);
+        calendar.init();
+    }
+
+    @Test
+    void nextFreeSkipsOverlappingIntervals() {
+        SpecialistCalendar.Slots slots = new SpecialistCalendar.Slots();
+        slots.reserve(100, 130);
+        slots.reserve(140, 170);
+
+        assertThat(slots.nextFree(90, 30)).isEqualTo(170);
+        assertThat(slots.nextFree(110, 10)).isEqualTo(130);
+        assertThat(slots.nextFree(60, 30)).isEqualTo(60);
+    }
+
+    @Test
+    void adjacentIntervalsDoNotConflict() {
+        SpecialistCalendar.Slots slots = new SpecialistCalendar.Slots();
+        slots.reserve(100, 130);
+
+        assertThat(slots.nextFree(70, 30)).isEqualTo(70);
+        assertThat(slots.nextFree(130, 30)).isEqualTo(130);
+        assertThat(slots.reserveFirstFree(100, 160, 30)).isEqualTo(130);
+        assertThat(slots.reserveFirstFree(100, 160, 30)).isEqualTo(-1);
+    }
+
+    @Test
+    void releaseFreesTheInterval() {
+        SpecialistCalendar.Slots slots = new SpecialistCalendar.Slots();
+        slots.reserve(100, 130);
+        slots.release(100);
+
+        assertThat(slots.nextFree(100, 30)).isEqualTo(100);
+    }
+
+    @Test
+    void bookedSessionsNeverOverlap() {
+        List<TreatmentSession> first = calendar.book(plan(1L, 5));
+        List<TreatmentSession> second = calendar.book(plan(2L, 5));
+
+        List<TreatmentSession> all = new ArrayList<>(first);
+        all.addAll(second);
+        all.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+        for (int i = 1; i < all.size(); i++) {
+            assertThat(all.get(i).getStartTime()).isAfterOrEqualTo(all.get(i - 1).getEndTime());
+        }
+        assertThat(calendar.freeSlots(7L, MONDAY, MONDAY.plusWeeks(1))).isEmpty();
+    }
+
+    @Test
+    void fullWeekReturnsNullAndKeepsNothingReserved() {
+        calendar.book(plan(1L, 6));
+
+        assertThat(calendar.book(plan(2L, 5))).isNull();
+        assertThat(calendar.freeSlots(7L, MONDAY, MONDAY.plusWeeks(1))).hasSize(4);
+    }
+
+    @Test
+    void rollbackReleasesReservedSlots() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            calendar.book(plan(1L, 3));
+            assertThat(calendar.freeSlots(7L, MONDAY, MONDAY.plusWeeks(1))).hasSize(7);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(calendar.freeSlots(7L, MONDAY, MONDAY.plusWeeks(1))).hasSize(10);
+    }
+
+    // One-week plan for specialist 7 with the given number of tests
+    private static TreatmentPlan plan(Long id, int tests) {
+        TreatmentPlan plan = new TreatmentPlan(id, "Package", new ArrayList<>(Collections.nCopies(tests, "Test")), 100.0,
+                "Dr Rao", "SENIOR", "Orthopaedics", MONDAY, MONDAY.plusWeeks(1), 1);
+        plan.setId(id);
+        plan.setSpecialistId(7L);
+        return plan;
+    }
+}
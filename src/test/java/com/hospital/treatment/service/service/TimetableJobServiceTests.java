@@ -0,0 +1,156 @@
+package com.hospital.treatment.service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.hospital.treatment.service.dto.PatientDetailRequest;
+import com.hospital.treatment.service.dto.TreatmentPlanResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TimetableJobServiceTests {
+
+    private final TimetableJobService jobs = new TimetableJobService();
+
+    private final TreatmentTimetableService timetableService = mock(TreatmentTimetableService.class);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(timetableService, "maxBatchSize", 3);
+        doCallRealMethod().when(timetableService).checkBatchSize(anyList());
+        ReflectionTestUtils.setField(jobs, "timetableService", timetableService);
+        ReflectionTestUtils.setField(jobs, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jobs, "workers", 1);
+        ReflectionTestUtils.setField(jobs, "queueCapacity", 1);
+        ReflectionTestUtils.setField(jobs, "maxTrackedPlans", 100L);
+        ReflectionTestUtils.setField(jobs, "retentionMinutes", 60L);
+        jobs.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        jobs.shutdown();
+    }
+
+    @Test
+    void jobMovesFromQueuedThroughRunningToSucceeded() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        TreatmentPlanResponse plan = new TreatmentPlanResponse();
+        when(timetableService.formulateTreatmentTimetables(anyList())).thenAnswer(invocation -> {
+            running.countDown();
+            release.await();
+            return List.of(plan);
+        });
+
+        String jobId = (String) jobs.submit(batch(2)).get("jobId");
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(jobs.getJob(jobId)).containsEntry("status", TimetableJobService.STATUS_RUNNING)
+                .containsEntry("patients", 2).doesNotContainKey("result");
+
+        release.countDown();
+        Map<String, Object> done = awaitFinished(jobId);
+        assertThat(done).containsEntry("status", TimetableJobService.STATUS_SUCCEEDED)
+                .containsEntry("result", List.of(plan));
+        assertThat(done.get("finishedAt")).isNotNull();
+    }
+
+    @Test
+    void failureIsReportedOnTheJob() throws Exception {
+        when(timetableService.formulateTreatmentTimetables(anyList()))
+                .thenThrow(new RuntimeException("Unknown package: Package 9"));
+
+        String jobId = (String) jobs.submit(batch(1)).get("jobId");
+
+        assertThat(awaitFinished(jobId)).containsEntry("status", TimetableJobService.STATUS_FAILED)
+                .containsEntry("error", "Unknown package: Package 9");
+    }
+
+    @Test
+    void fullQueueIsRefusedUpFront() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        when(timetableService.formulateTreatmentTimetables(anyList())).thenAnswer(invocation -> {
+            running.countDown();
+            release.await();
+            return List.of();
+        });
+        jobs.submit(batch(1));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        Map<String, Object> queued = jobs.submit(batch(1));
+        assertThat(queued).containsEntry("status", TimetableJobService.STATUS_QUEUED);
+
+        assertStatus(() -> jobs.submit(batch(1)), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    void emptyAndOversizedBatchesAreRejected() {
+        assertStatus(() -> jobs.submit(List.of()), HttpStatus.BAD_REQUEST);
+        assertStatus(() -> jobs.submit(batch(4)), HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retainedResultsAreBoundedByPlanCount() throws Exception {
+        List<TreatmentPlanResponse> plans = Collections.nCopies(30, new TreatmentPlanResponse());
+        when(timetableService.formulateTreatmentTimetables(anyList())).thenReturn(plans);
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(jobs, "executor");
+        for (int i = 0; i < 10; i++) {
+            jobs.submit(batch(1));
+            // A finished job may already be evicted, so wait on the pool rather than polling it
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (executor.getCompletedTaskCount() <= i && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+
+        Cache<String, ?> table = (Cache<String, ?>) ReflectionTestUtils.getField(jobs, "jobs");
+        table.cleanUp();
+        assertThat(table.policy().eviction().orElseThrow().weightedSize().getAsLong()).isLessThanOrEqualTo(100);
+        assertThat(table.estimatedSize()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void unknownJobIsNotFound() {
+        assertStatus(() -> jobs.getJob("missing"), HttpStatus.NOT_FOUND);
+    }
+
+    private Map<String, Object> awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        Map<String, Object> job = jobs.getJob(jobId);
+        while (job.get("finishedAt") == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = jobs.getJob(jobId);
+        }
+        return job;
+    }
+
+    private static void assertStatus(Runnable call, HttpStatus status) {
+        assertThatThrownBy(call::run).isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode()).isEqualTo(status));
+    }
+
+    private static List<PatientDetailRequest> batch(int size) {
+        return Collections.nCopies(size, new PatientDetailRequest());
+    }
+}
@@ -0,0 +1,82 @@
+package com.hospital.treatment.service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.hospital.scheduling.SchedulerLeaseManager;
+import com.hospital.treatment.service.repository.PatientDetailRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TreatmentAutoCompletionJobTests {
+
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    private final TreatmentAutoCompletionJob job = new TreatmentAutoCompletionJob();
+
+    private final PatientDetailRepository patientRepository = mock(PatientDetailRepository.class);
+
+    private final TreatmentTimetableService timetableService = mock(TreatmentTimetableService.class);
+
+    private final SchedulerLeaseManager leaseManager = mock(SchedulerLeaseManager.class);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(job, "patientRepository", patientRepository);
+        ReflectionTestUtils.setField(job, "timetableService", timetableService);
+        ReflectionTestUtils.setField(job, "leaseManager", leaseManager);
+        ReflectionTestUtils.setField(job, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(job, "chunkSize", 2);
+        job.init();
+        when(patientRepository.findOverdueIds(any(), eq(0L), any(Limit.class))).thenReturn(List.of(1L, 2L));
+        when(patientRepository.findOverdueIds(any(), eq(2L), any(Limit.class))).thenReturn(List.of(3L, 4L));
+        when(patientRepository.findOverdueIds(any(), eq(4L), any(Limit.class))).thenReturn(List.of(5L));
+        when(timetableService.updateTreatmentStatuses(anyList(), eq("COMPLETED")))
+                .thenAnswer(invocation -> Map.of("updated", ((List<?>) invocation.getArgument(0)).size()));
+        when(leaseManager.tryAcquire(eq(TreatmentAutoCompletionJob.LEASE_NAME), any())).thenReturn(true);
+    }
+
+    @AfterEach
+    void clearInterrupt() {
+        Thread.interrupted();
+    }
+
+    @Test
+    void walksEveryChunkWhileTheLeaseHolds() {
+        assertThat(job.completeOverdue(LocalDate.now(), LEASE)).isEqualTo(5);
+        verify(timetableService, times(3)).updateTreatmentStatuses(anyList(), eq("COMPLETED"));
+    }
+
+    @Test
+    void stopsWhenTheLeaseIsLost() {
+        when(leaseManager.tryAcquire(eq(TreatmentAutoCompletionJob.LEASE_NAME), any())).thenReturn(false);
+
+        assertThat(job.completeOverdue(LocalDate.now(), LEASE)).isEqualTo(2);
+    }
+
+    @Test
+    void stopsBetweenChunksOnceInterrupted() {
+        Thread.currentThread().interrupt();
+
+        assertThat(job.completeOverdue(LocalDate.now(), LEASE)).isEqualTo(2);
+        verify(patientRepository, times(1)).findOverdueIds(any(), anyLong(), any(Limit.class));
+    }
+}
@@ -0,0 +1,113 @@
+package com.hospital.treatment.service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.hospital.treatment.service.dto.PatientPage;
+import com.hospital.treatment.service.entity.PatientDetail;
+import com.hospital.treatment.service.repository.PatientDetailRepository;
+
+class TreatmentTimetableServiceCursorTests {
+
+    private final TreatmentTimetableService service = new TreatmentTimetableService();
+
+    private final PatientDetailRepository patientRepository = mock(PatientDetailRepository.class);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "patientRepository", patientRepository);
+    }
+
+    @Test
+    void nextCursorResumesAfterTheLastIdOfThePage() {
+        when(patientRepository.findPage(isNull(), isNull(), eq(false), isNull(), isNull(), eq(3)))
+                .thenReturn(List.of(patient(4L, null), patient(7L, null), patient(9L, null)));
+
+        PatientPage first = service.getPatients(null, null, null, null, 2);
+
+        assertThat(first.getItems()).extracting(PatientDetail::getId).containsExactly(4L, 7L);
+        assertThat(first.getNextCursor()).isNotNull();
+
+        service.getPatients(null, null, null, first.getNextCursor(), 2);
+        verify(patientRepository).findPage(null, null, false, null, 7L, 3);
+    }
+
+    @Test
+    void startDateCursorCarriesTheDateAndId() {
+        LocalDate day = LocalDate.of(2026, 3, 1);
+        when(patientRepository.findPage(any(), any(), eq(true), isNull(), isNull(), anyInt()))
+                .thenReturn(List.of(patient(5L, day), patient(6L, day)));
+
+        PatientPage first = service.getPatients("IN_PROGRESS", null, "startDate", null, 1);
+        service.getPatients("IN_PROGRESS", null, "startDate", first.getNextCursor(), 1);
+
+        verify(patientRepository).findPage("IN_PROGRESS", null, true, day, 5L, 2);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        when(patientRepository.findPage(any(), any(), anyBoolean(), any(), any(), anyInt()))
+                .thenReturn(List.of(patient(1L, null)));
+
+        assertThat(service.getPatients(null, null, null, null, 5).getNextCursor()).isNull();
+    }
+
+    @Test
+    void tamperedCursorsAreRejectedBeforeQuerying() {
+        assertBadRequest("not base64 !");
+        assertBadRequest(encode("id"));
+        assertBadRequest(encode("id:12:extra"));
+        assertBadRequest(encode("id:twelve"));
+        assertBadRequest(encode("startDate:12"));
+        verifyNoInteractions(patientRepository);
+    }
+
+    @Test
+    void cursorFromAnotherSortOrderIsRejected() {
+        String byDate = encode("startDate:12:2026-03-01");
+
+        assertThatThrownBy(() -> service.getPatients(null, null, "id", byDate, 10))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> service.getPatients(null, null, "startDate", encode("startDate:12:2026-02-30"), 10))
+                .isInstanceOf(ResponseStatusException.class);
+        verifyNoInteractions(patientRepository);
+    }
+
+    private void assertBadRequest(String cursor) {
+        assertThatThrownBy(() -> service.getPatients(null, null, null, cursor, 10))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    private static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PatientDetail patient(Long id, LocalDate startDate) {
+        PatientDetail patient = new PatientDetail();
+        patient.setId(id);
+        patient.setTreatmentStartDate(startDate);
+        return patient;
+    }
+}